@@ -0,0 +1,37 @@
+package com.aim.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, which reports the allocation rate of each
+ * operation (gc.alloc.rate.norm, bytes per operation), and exports the results as JSON.
+ *
+ * Usage: BenchmarkMain [results.json] [benchmark regex]
+ */
+public class BenchmarkMain {
+
+	/**
+	 * The seed of every benchmark instance, so runs of different revisions are comparable.
+	 */
+	public static final long SEED = 9022024L;
+
+	public static void main(String[] args) throws RunnerException {
+
+		String resultFile = args.length > 0 ? args[0] : "benchmark-results.json";
+		String include = args.length > 1 ? args[1] : "com\\.aim\\.benchmarks\\..*";
+
+		Options options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(resultFile)
+				.build();
+
+		new Runner(options).run();
+	}
+}
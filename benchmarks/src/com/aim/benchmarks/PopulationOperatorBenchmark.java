@@ -0,0 +1,161 @@
+package com.aim.benchmarks;
+
+import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
+import com.aim.metaheuristics.population.heuristics.BitMutation;
+import com.aim.metaheuristics.population.heuristics.DBHC_OI;
+import com.aim.metaheuristics.population.heuristics.PTX1;
+import com.aim.metaheuristics.population.heuristics.SDHC_OI;
+import com.aim.metaheuristics.population.memetic.BasicReplacement;
+import com.aim.metaheuristics.population.memetic.FittestSelection;
+import com.aim.metaheuristics.population.memetic.TournamentSelection;
+import com.aim.metaheuristics.population.memetic.TransGenerationalReplacementWithElitistReplacement;
+import com.aim.metaheuristics.population.memetic.UniformXO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.genetics.CrossoverHeuristic;
+import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
+import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationReplacement;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one application of each population operator on a population of
+ * {@link #POPULATION_SIZE} parents and as many offspring.
+ *
+ * Local search restores its offspring from a parent first, since a climber applied to the
+ * same solution twice has nothing left to improve; the copy is included in the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PopulationOperatorBenchmark {
+
+	private static final int POPULATION_SIZE = 16;
+
+	@Param({ "1", "4", "9" })
+	public int instanceId;
+
+	private SAT problem;
+
+	private CrossoverHeuristic uniformXO;
+
+	private CrossoverHeuristic ptx1;
+
+	private PopulationHeuristic bitMutation;
+
+	private PopulationHeuristic dbhc;
+
+	private PopulationHeuristic sdhc;
+
+	private PopulationFitnessCache fitness;
+
+	private ParentSelection tournament;
+
+	private ParentSelection fittest;
+
+	private PopulationReplacement basicReplacement;
+
+	private PopulationReplacement transGenerational;
+
+	private int parent;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		Random random = new Random(BenchmarkMain.SEED);
+		problem = new SAT(instanceId, Integer.MAX_VALUE, random, POPULATION_SIZE);
+		fitness = new PopulationFitnessCache(problem, POPULATION_SIZE);
+
+		uniformXO = new UniformXO(problem, random);
+		ptx1 = new PTX1(problem, random);
+		bitMutation = new BitMutation(problem, random, BitMutation.Sampling.GEOMETRIC_SKIP);
+		dbhc = new DBHC_OI(problem, random);
+		sdhc = new SDHC_OI(problem, random);
+		tournament = new TournamentSelection(problem, random, POPULATION_SIZE, 3, fitness);
+		fittest = new FittestSelection(problem, random, POPULATION_SIZE, fitness);
+		basicReplacement = new BasicReplacement();
+		transGenerational = new TransGenerationalReplacementWithElitistReplacement(fitness);
+	}
+
+	private int nextParent() {
+		parent = (parent + 1) % POPULATION_SIZE;
+		return parent;
+	}
+
+	@Benchmark
+	public void uniformXO() {
+		uniformXO.applyHeuristic(0, 1, POPULATION_SIZE, POPULATION_SIZE + 1);
+	}
+
+	@Benchmark
+	public void ptx1() {
+		ptx1.applyHeuristic(0, 1, POPULATION_SIZE, POPULATION_SIZE + 1);
+	}
+
+	@Benchmark
+	public void bitMutation() {
+		bitMutation.applyHeuristic(POPULATION_SIZE);
+	}
+
+	@Benchmark
+	public void davissBitHillClimbing() {
+		problem.copySolution(nextParent(), POPULATION_SIZE);
+		dbhc.applyHeuristic(POPULATION_SIZE);
+	}
+
+	@Benchmark
+	public void steepestDescentHillClimbing() {
+		problem.copySolution(nextParent(), POPULATION_SIZE);
+		sdhc.applyHeuristic(POPULATION_SIZE);
+	}
+
+	/**
+	 * The first selection of a generation, when no fitness is cached.
+	 */
+	@Benchmark
+	public int tournamentSelectionCold() {
+		fitness.invalidateAll();
+		return tournament.parentSelection();
+	}
+
+	/**
+	 * Any later selection of a generation.
+	 */
+	@Benchmark
+	public int tournamentSelectionWarm() {
+		return tournament.parentSelection();
+	}
+
+	@Benchmark
+	public int fittestSelectionCold() {
+		fitness.invalidateAll();
+		return fittest.parentSelection();
+	}
+
+	@Benchmark
+	public void basicReplacement() {
+		basicReplacement.doReplacement(problem, POPULATION_SIZE);
+	}
+
+	@Benchmark
+	public void transGenerationalReplacement() {
+		fitness.invalidateAll();
+		transGenerational.doReplacement(problem, POPULATION_SIZE);
+	}
+}
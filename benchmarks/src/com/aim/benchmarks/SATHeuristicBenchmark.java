@@ -0,0 +1,92 @@
+package com.aim.benchmarks;
+
+import com.aim.InstrumentedSAT;
+import com.aim.heuristics.DavissBitHC;
+import com.aim.heuristics.KBitDavissHC;
+import com.aim.heuristics.ShallowestDescentHC;
+import com.aim.heuristics.SteepestDescentHC;
+import com.aim.pseudorandom.RandomBitFlipHeuristic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one application of each single-point {@link SATHeuristic}.
+ *
+ * Hill climbers stop improving once they reach a local optimum, so every invocation restores
+ * the solution-in-hand from one of {@link #STARTS} random solutions held in the problem's
+ * solution memory and then applies the heuristic {@link #STEPS} times in a row. Restoring a
+ * start changes too many variables for an incremental evaluator to catch up with, so the
+ * first step of each invocation rebuilds it; the later steps continue from the solution the
+ * evaluator last wrote, as they do in a search. The objective value of the result is not
+ * evaluated afterwards, as a full evaluation would cost as much as a pass of some of the
+ * heuristics; the problem, which every move writes to, is consumed instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SATHeuristicBenchmark {
+
+	private static final int STARTS = 64;
+
+	private static final int STEPS = 8;
+
+	@Param({ "1", "4", "9" })
+	public int instanceId;
+
+	@Param({ "DavissBitHC", "SteepestDescentHC", "ShallowestDescentHC", "KBitDavissHC", "RandomBitFlipHeuristic" })
+	public String heuristicName;
+
+	private InstrumentedSAT problem;
+
+	private SATHeuristic heuristic;
+
+	private int start;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		Random random = new Random(BenchmarkMain.SEED);
+		// slots 0 and 1 are CURRENT and BACKUP, the rest hold the starting solutions
+		problem = new InstrumentedSAT(instanceId, Integer.MAX_VALUE, random, (STARTS + 2) / 2);
+		heuristic = switch (heuristicName) {
+			case "DavissBitHC" -> new DavissBitHC(random);
+			case "SteepestDescentHC" -> new SteepestDescentHC(random);
+			case "ShallowestDescentHC" -> new ShallowestDescentHC(random);
+			case "KBitDavissHC" -> new KBitDavissHC(2, random);
+			case "RandomBitFlipHeuristic" -> new RandomBitFlipHeuristic(random);
+			default -> throw new IllegalArgumentException("Unknown heuristic " + heuristicName);
+		};
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(STEPS)
+	public void applyHeuristic(Blackhole blackhole) {
+
+		problem.copySolution(2 + start, SATHeuristic.CURRENT_SOLUTION_INDEX);
+		start = (start + 1) % STARTS;
+
+		for (int step = 0; step < STEPS; step++) {
+			heuristic.applyHeuristic(problem);
+		}
+		blackhole.consume(problem);
+	}
+}
@@ -0,0 +1,161 @@
+package com.aim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Appends rows to a CSV results file without rewriting it.
+ *
+ * The file is opened once in append mode and written by a single writer thread fed through
+ * a queue, so parallel trials can call {@link #append(String)} without any locking of their
+ * own. Rows queued together are written in one batch. The header is only written if the file
+ * is new. As before, rows are separated by "\r\n" with no line break after the last one.
+ */
+public class CsvResultsSink implements AutoCloseable {
+
+	private static final String NEW_LINE = "\r\n";
+
+	/**
+	 * Rows are written once this many characters are pending, even if more are queued.
+	 */
+	private static final int BATCH_SIZE = 1 << 16;
+
+	/**
+	 * Queued by {@link #close()} to stop the writer, compared by identity.
+	 */
+	private static final String END = new String();
+
+	private final Path path;
+
+	private final FileChannel channel;
+
+	private final BlockingQueue<String> rows = new LinkedBlockingQueue<>();
+
+	private final Thread writer;
+
+	/**
+	 * Whether the next row needs a line break before it, i.e. the file is not empty.
+	 */
+	private boolean needsSeparator;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * @param path The results file, created if it does not exist.
+	 * @param header The header row, written only if the file is new or empty.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public CsvResultsSink(Path path, String header) throws IOException {
+
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		this.needsSeparator = channel.size() > 0;
+		if (!needsSeparator) {
+			rows.add(header);
+		}
+
+		this.writer = new Thread(this::writeRows, "results-" + path.getFileName());
+		// closed by TestFrame's shutdown hook if a runner does not close it
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Queues a row to be appended; returns immediately.
+	 *
+	 * @param row The row, without a line break.
+	 */
+	public void append(String row) {
+
+		if (closed) {
+			throw new IllegalStateException("Results file " + path + " has been closed");
+		}
+		rows.add(row);
+	}
+
+	/**
+	 * Writes all queued rows, forces them to disk and closes the file.
+	 */
+	@Override
+	public synchronized void close() {
+
+		if (closed) {
+			return;
+		}
+		closed = true;
+		rows.add(END);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			channel.force(false);
+			channel.close();
+		} catch (IOException e) {
+			System.err.println("Could not close file at " + path.toAbsolutePath());
+		}
+	}
+
+	private void writeRows() {
+
+		StringBuilder batch = new StringBuilder();
+		boolean writable = true;
+		try {
+			String row = rows.take();
+			while (true) {
+				// gather everything already queued into one write
+				while (row != null && row != END && batch.length() < BATCH_SIZE) {
+					if (needsSeparator) {
+						batch.append(NEW_LINE);
+					}
+					batch.append(row);
+					needsSeparator = true;
+					row = rows.poll();
+				}
+
+				if (writable) {
+					writable = write(batch);
+				} else {
+					System.out.println(batch);
+				}
+				batch.setLength(0);
+
+				if (row == END) {
+					return;
+				}
+				if (row == null) {
+					row = rows.take();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return false if the file could not be written, in which case the rows are printed instead.
+	 */
+	private boolean write(CharSequence batch) {
+
+		ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			return true;
+		} catch (IOException e) {
+			System.err.println("Could not write to file at " + path.toAbsolutePath());
+			System.err.println("Printing data to screen instead...");
+			System.out.println(batch);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package com.aim;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the full (configuration, heuristic, trial) grid of an experiment as one flat queue of
+ * trials on a dedicated {@link ForkJoinPool}, rather than nesting parallel streams over
+ * heuristics and trials on the common pool.
+ *
+ * At most <code>maxConcurrentTrials</code> trials run at once, so that time limited trials are
+ * not starved of CPU by each other or by parallel work inside a trial.
+ *
+ * Trials start longest first, so that the most expensive heuristic or instance is not left to
+ * run alone at the end. The cost of a (configuration, heuristic) cell is the mean wall-clock
+ * time of its trials that have finished. Cells with no finished trial yet are started before
+ * any other, in order of decreasing {@link Trial#estimatedCost()}, so the cost of every cell
+ * is learned from its first trials. When every trial has the same fixed run time the order
+ * makes no difference; it matters for evaluation or generation budgets, where the run time
+ * of a trial depends on the heuristic and instance.
+ */
+public class ExperimentScheduler implements AutoCloseable {
+
+	/**
+	 * One cell of the experimental grid.
+	 *
+	 * @param configuration The index of the configuration.
+	 * @param heuristicId The heuristic ID.
+	 * @param trialId The trial ID.
+	 * @param estimatedCost The expected running time of the trial, in any unit, used to order
+	 *        the cells until the running time of one of their trials has been measured.
+	 */
+	public record Trial(int configuration, int heuristicId, int trialId, double estimatedCost) {
+	}
+
+	@FunctionalInterface
+	public interface TrialRunner<T> {
+		T run(Trial trial);
+	}
+
+	@FunctionalInterface
+	public interface CostEstimate {
+		double of(int configuration, int heuristicId);
+	}
+
+	private final ForkJoinPool pool;
+
+	private final int maxConcurrentTrials;
+
+	/**
+	 * @param parallelism The number of worker threads of the pool.
+	 * @param maxConcurrentTrials The maximum number of trials running at once.
+	 */
+	public ExperimentScheduler(int parallelism, int maxConcurrentTrials) {
+
+		if (parallelism < 1 || maxConcurrentTrials < 1) {
+			throw new IllegalArgumentException("Parallelism " + parallelism + " and maximum concurrent trials "
+					+ maxConcurrentTrials + " must be positive");
+		}
+		this.pool = new ForkJoinPool(parallelism);
+		this.maxConcurrentTrials = maxConcurrentTrials;
+	}
+
+	/**
+	 * @return A scheduler sized according to the {@link ExperimentalSettings}.
+	 */
+	public static ExperimentScheduler fromSettings() {
+
+		if (!ExperimentalSettings.ENABLE_PARALLEL_EXECUTION) {
+			return new ExperimentScheduler(1, 1);
+		}
+		return new ExperimentScheduler(ExperimentalSettings.PARALLELISM, ExperimentalSettings.MAX_CONCURRENT_TRIALS);
+	}
+
+	/**
+	 * Creates the flattened grid of every trial of every heuristic of every configuration.
+	 *
+	 * @param configurations The number of configurations.
+	 * @param heuristics The number of heuristics.
+	 * @param trials The number of trials of each heuristic.
+	 * @param cost The estimated cost of each trial of a configuration and heuristic.
+	 * @return The trials ordered by configuration, heuristic and trial ID.
+	 */
+	public static List<Trial> grid(int configurations, int heuristics, int trials, CostEstimate cost) {
+
+		List<Trial> grid = new ArrayList<>(configurations * heuristics * trials);
+		for (int c = 0; c < configurations; c++) {
+			for (int h = 0; h < heuristics; h++) {
+				double estimatedCost = cost.of(c, h);
+				for (int t = 0; t < trials; t++) {
+					grid.add(new Trial(c, h, t, estimatedCost));
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Runs every trial and waits for all of them to finish.
+	 *
+	 * @param trials The trials to run.
+	 * @param runner Runs one trial.
+	 * @return The result of each trial, in the order of <code>trials</code>.
+	 */
+	public <T> List<T> run(List<Trial> trials, TrialRunner<T> runner) {
+
+		CostModel pending = new CostModel(trials);
+		Object[] results = new Object[trials.size()];
+		CountDownLatch finished = new CountDownLatch(trials.size());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		for (int i = 0; i < Math.min(maxConcurrentTrials, trials.size()); i++) {
+			startNext(pending, trials, runner, results, finished, failure);
+		}
+
+		try {
+			finished.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for trials", e);
+		}
+		if (failure.get() != null) {
+			throw new IllegalStateException("A trial failed", failure.get());
+		}
+
+		@SuppressWarnings("unchecked")
+		List<T> list = (List<T>) Arrays.asList(results);
+		return list;
+	}
+
+	/**
+	 * Starts the next pending trial; each trial starts its successor when it finishes, so
+	 * no more than <code>maxConcurrentTrials</code> are ever running and no worker blocks.
+	 */
+	private <T> void startNext(CostModel pending, List<Trial> trials, TrialRunner<T> runner,
+			Object[] results, CountDownLatch finished, AtomicReference<Throwable> failure) {
+
+		Integer index = pending.next();
+		if (index == null) {
+			return;
+		}
+		pool.execute(() -> {
+			try {
+				if (failure.get() == null) {
+					long start = System.nanoTime();
+					results[index] = runner.run(trials.get(index));
+					pending.finished(trials.get(index), System.nanoTime() - start);
+				}
+			} catch (Throwable t) {
+				failure.compareAndSet(null, t);
+			} finally {
+				startNext(pending, trials, runner, results, finished, failure);
+				finished.countDown();
+			}
+		});
+	}
+
+	/**
+	 * The pending trials of each (configuration, heuristic) cell and the running times of its
+	 * finished trials, deciding which trial starts next.
+	 */
+	private static final class CostModel {
+
+		private static final class Cell {
+
+			final double estimatedCost;
+
+			final ArrayDeque<Integer> pending = new ArrayDeque<>();
+
+			int finished = 0;
+
+			long nanos = 0;
+
+			Cell(double estimatedCost) {
+				this.estimatedCost = estimatedCost;
+			}
+
+			/**
+			 * @return true if this cell should start before <code>other</code>.
+			 */
+			boolean before(Cell other) {
+
+				if ((finished == 0) != (other.finished == 0)) {
+					return finished == 0;
+				}
+				return finished == 0
+						? estimatedCost > other.estimatedCost
+						: (double) nanos / finished > (double) other.nanos / other.finished;
+			}
+		}
+
+		/**
+		 * In grid order, which breaks ties.
+		 */
+		private final Map<Long, Cell> cells = new LinkedHashMap<>();
+
+		CostModel(List<Trial> trials) {
+
+			for (int i = 0; i < trials.size(); i++) {
+				Trial trial = trials.get(i);
+				cells.computeIfAbsent(key(trial), k -> new Cell(trial.estimatedCost())).pending.add(i);
+			}
+		}
+
+		/**
+		 * @return The index of the trial to start next, or null if none is pending.
+		 */
+		synchronized Integer next() {
+
+			Cell next = null;
+			for (Cell cell : cells.values()) {
+				if (!cell.pending.isEmpty() && (next == null || cell.before(next))) {
+					next = cell;
+				}
+			}
+			return next == null ? null : next.pending.poll();
+		}
+
+		synchronized void finished(Trial trial, long nanos) {
+
+			Cell cell = cells.get(key(trial));
+			cell.finished++;
+			cell.nanos += nanos;
+		}
+
+		private static long key(Trial trial) {
+			return ((long) trial.configuration() << 32) | (trial.heuristicId() & 0xFFFFFFFFL);
+		}
+	}
+
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+}
@@ -13,7 +13,112 @@ public class ExperimentalSettings {
 	 * 
 	 * WARNING: This WILL cause your computer to run slow for other tasks while
 	 * the experiments are ran
+	 *
+	 * Set with -Daim.parallelExecution=false to run sequentially.
 	 */
-	public static final boolean ENABLE_PARALLEL_EXECUTION = true;
+	public static final boolean ENABLE_PARALLEL_EXECUTION =
+			Boolean.parseBoolean(System.getProperty("aim.parallelExecution", "true"));
+
+	/**
+	 * The number of worker threads used to run trials, -Daim.parallelism=N.
+	 */
+	public static final int PARALLELISM =
+			Integer.getInteger("aim.parallelism", Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The maximum number of trials running at once, -Daim.maxConcurrentTrials=N. Lower this
+	 * when trials use parallel work of their own so that time limited trials are not starved.
+	 */
+	public static final int MAX_CONCURRENT_TRIALS = Integer.getInteger("aim.maxConcurrentTrials", PARALLELISM);
+
+	/**
+	 * Gives each trial and each of its parallel tasks its own unsynchronised
+	 * L64X128MixRandom stream instead of a java.util.Random. Results remain reproducible
+	 * for a given seed but differ from those produced with this setting disabled.
+	 *
+	 * Set with -Daim.splittableRandomStreams=false to reproduce results of java.util.Random.
+	 */
+	public static final boolean ENABLE_SPLITTABLE_RANDOM_STREAMS =
+			Boolean.parseBoolean(System.getProperty("aim.splittableRandomStreams", "true"));
+
+	/**
+	 * How the run time of a trial is measured, -Daim.termination=WALL_CLOCK|CPU_TIME|EVALUATIONS.
+	 * CPU_TIME gives each trial the configured number of seconds of CPU time on its own
+	 * thread, so trials run in parallel are not shortened by contention. EVALUATIONS gives
+	 * each trial MAX_EVALUATIONS objective function evaluations.
+	 */
+	public static final TerminationController.Criterion TERMINATION =
+			TerminationController.Criterion.valueOf(System.getProperty("aim.termination", "WALL_CLOCK"));
+
+	/**
+	 * The number of termination checks per read of the CPU clock or evaluation counter,
+	 * -Daim.terminationCheckInterval=N.
+	 */
+	public static final int TERMINATION_CHECK_INTERVAL = Integer.getInteger("aim.terminationCheckInterval", 64);
+
+	/**
+	 * The objective function evaluations of a trial under EVALUATIONS termination,
+	 * -Daim.maxEvaluations=N.
+	 */
+	public static final long MAX_EVALUATIONS = Long.getLong("aim.maxEvaluations", 1000000L);
+
+	/**
+	 * Which objective values of a trial are kept for its progress plot,
+	 * -Daim.tracePolicy=EVERY_ITERATION|ON_CHANGE|FIXED_STRIDE|CHANGE_POINT. The default,
+	 * FIXED_STRIDE, is the only one whose memory does not depend on how the search behaves.
+	 */
+	public static final FitnessTrace.Policy TRACE_POLICY =
+			FitnessTrace.Policy.valueOf(System.getProperty("aim.tracePolicy", "FIXED_STRIDE"));
+
+	/**
+	 * The sampling stride of the FIXED_STRIDE trace policy, -Daim.traceStride=N.
+	 */
+	public static final int TRACE_STRIDE = Integer.getInteger("aim.traceStride", 100);
+
+	/**
+	 * The maximum number of points of a progress plot series, -Daim.tracePoints=N.
+	 */
+	public static final int TRACE_POINTS = Integer.getInteger("aim.tracePoints", 10000);
+
+	/**
+	 * The number of points each progress plot series is downsampled to, -Daim.plotPoints=N.
+	 */
+	public static final int PLOT_POINTS = Integer.getInteger("aim.plotPoints", 1000);
+
+	/**
+	 * The number of parallel tempering replicas of a simulated annealing trial,
+	 * -Daim.temperingReplicas=N. 0 runs a single chain with the configured cooling schedule.
+	 */
+	public static final int TEMPERING_REPLICAS = Integer.getInteger("aim.temperingReplicas", 0);
+
+	/**
+	 * The iterations of each parallel tempering replica between exchanges, -Daim.temperingSweepLength=N.
+	 */
+	public static final int TEMPERING_SWEEP_LENGTH = Integer.getInteger("aim.temperingSweepLength", 100);
+
+	/**
+	 * The temperature of the coldest parallel tempering replica, -Daim.temperingMinTemperature=T.
+	 * The hottest is the objective value of the initial solution, as in the cooling schedules.
+	 */
+	public static final double TEMPERING_MIN_TEMPERATURE =
+			Double.parseDouble(System.getProperty("aim.temperingMinTemperature", "0.1"));
+
+	/**
+	 * The number of concurrent walkers of an iterated local search trial, -Daim.ilsWalkers=N.
+	 * 0 runs a single iterated local search.
+	 */
+	public static final int ILS_WALKERS = Integer.getInteger("aim.ilsWalkers", 0);
+
+	/**
+	 * Non-improving iterations before a walker restarts from the best solution of all walkers,
+	 * -Daim.ilsStagnationLimit=N, 0 to never restart.
+	 */
+	public static final int ILS_STAGNATION_LIMIT = Integer.getInteger("aim.ilsStagnationLimit", 100);
+
+	/**
+	 * The directory of compiled instance files, -Daim.instanceCache=DIR. Empty to only share
+	 * instances within one run.
+	 */
+	public static final String INSTANCE_CACHE = System.getProperty("aim.instanceCache", "instance-cache");
 	
 }
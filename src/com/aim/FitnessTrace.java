@@ -0,0 +1,217 @@
+package com.aim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Records the objective value of a trial at every iteration into growable primitive arrays,
+ * keeping only the (iteration, value) points its {@link Policy} needs to reproduce the trace.
+ *
+ * A trace of millions of iterations is stored without boxing, and with ON_CHANGE or
+ * CHANGE_POINT in memory proportional to the number of improvements rather than iterations.
+ */
+public class FitnessTrace {
+
+	public enum Policy {
+		/**
+		 * Every value; exact but unbounded.
+		 */
+		EVERY_ITERATION,
+		/**
+		 * Values that differ from the previous one; exact when the trace is drawn as steps.
+		 */
+		ON_CHANGE,
+		/**
+		 * Every <code>stride</code>-th value; approximate, n / stride points.
+		 */
+		FIXED_STRIDE,
+		/**
+		 * End points of runs of constant slope; exact when the trace is drawn as lines,
+		 * which is how {@link uk.ac.nott.cs.aim.statistics.XLineChart} draws it.
+		 */
+		CHANGE_POINT
+	}
+
+	private final Policy policy;
+
+	private final int stride;
+
+	private long[] iterations = new long[16];
+
+	private double[] values = new double[16];
+
+	private int size = 0;
+
+	/**
+	 * The number of values recorded, i.e. the iteration of the next one.
+	 */
+	private long count = 0;
+
+	private double lastValue;
+
+	/**
+	 * @param policy Which values to keep.
+	 * @param stride The sampling stride of {@link Policy#FIXED_STRIDE}, ignored otherwise.
+	 */
+	public FitnessTrace(Policy policy, int stride) {
+
+		if (stride < 1) {
+			throw new IllegalArgumentException("Stride must be positive but was " + stride);
+		}
+		this.policy = policy;
+		this.stride = stride;
+	}
+
+	/**
+	 * @return A trace using the policy configured in the {@link ExperimentalSettings}.
+	 */
+	public static FitnessTrace fromSettings() {
+		return new FitnessTrace(ExperimentalSettings.TRACE_POLICY, ExperimentalSettings.TRACE_STRIDE);
+	}
+
+	/**
+	 * Records the objective value of the next iteration.
+	 */
+	public void record(double value) {
+
+		long iteration = count++;
+		switch (policy) {
+			case EVERY_ITERATION -> append(iteration, value);
+			case ON_CHANGE -> {
+				if (size == 0 || value != values[size - 1]) {
+					append(iteration, value);
+				}
+			}
+			case FIXED_STRIDE -> {
+				if (iteration % stride == 0) {
+					append(iteration, value);
+				}
+			}
+			case CHANGE_POINT -> {
+				// extend the last segment if the new point lies on it, values being whole numbers here
+				if (size >= 2 && (value - values[size - 1]) * (iterations[size - 1] - iterations[size - 2])
+						== (values[size - 1] - values[size - 2]) * (iteration - iterations[size - 1])) {
+					iterations[size - 1] = iteration;
+					values[size - 1] = value;
+				} else {
+					append(iteration, value);
+				}
+			}
+		}
+		lastValue = value;
+	}
+
+	/**
+	 * @param iteration An iteration in [0, {@link #getIterationCount()}).
+	 * @return The recorded value of the iteration, or its reconstruction from the kept points.
+	 */
+	public double getValueAt(long iteration) {
+
+		if (iteration < 0 || iteration >= count) {
+			throw new IndexOutOfBoundsException("Iteration " + iteration + " of " + count);
+		}
+		if (iteration == count - 1) {
+			return lastValue;
+		}
+		int point = Arrays.binarySearch(iterations, 0, size, iteration);
+		if (point >= 0) {
+			return values[point];
+		}
+		// the last kept point before the iteration
+		point = -point - 2;
+		return interpolate(point, iteration);
+	}
+
+	/**
+	 * @param maxPoints The maximum number of values, at least 2.
+	 * @return The smallest stride at which {@link #sample(long)} returns at most <code>maxPoints</code> values.
+	 */
+	public long getStride(int maxPoints) {
+		return Math.max(1, (count - 1 + maxPoints - 2) / (maxPoints - 1));
+	}
+
+	/**
+	 * Reconstructs the trace at iterations 0, <code>stride</code>, 2 * <code>stride</code>, ...
+	 * and at its last iteration, so that value j is that of iteration j * <code>stride</code>
+	 * except for the last, which may be closer to its predecessor.
+	 *
+	 * @param stride The number of iterations between values, at least 1.
+	 * @return The values, first and last iteration included.
+	 */
+	public ArrayList<Double> sample(long stride) {
+
+		if (stride < 1) {
+			throw new IllegalArgumentException("Stride must be positive but was " + stride);
+		}
+		int points = count == 0 ? 0 : (int) ((count - 2 + stride) / stride) + 1;
+		ArrayList<Double> list = new ArrayList<>(points);
+		int point = 0;
+		for (int j = 0; j < points; j++) {
+			long iteration = Math.min(j * stride, count - 1);
+			if (iteration == count - 1) {
+				list.add(lastValue);
+				continue;
+			}
+			while (point + 1 < size && iterations[point + 1] <= iteration) {
+				point++;
+			}
+			list.add(iterations[point] == iteration ? values[point] : interpolate(point, iteration));
+		}
+		return list;
+	}
+
+	/**
+	 * @return The number of kept points.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public long getIteration(int point) {
+		return iterations[point];
+	}
+
+	public double getValue(int point) {
+		return values[point];
+	}
+
+	/**
+	 * @return The number of values recorded.
+	 */
+	public long getIterationCount() {
+		return count;
+	}
+
+	public double getLastValue() {
+		return lastValue;
+	}
+
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @param point The last kept point at or before the iteration.
+	 */
+	private double interpolate(int point, long iteration) {
+
+		if (policy != Policy.CHANGE_POINT) {
+			return values[point];
+		}
+		long nextIteration = point + 1 < size ? iterations[point + 1] : count - 1;
+		double nextValue = point + 1 < size ? values[point + 1] : lastValue;
+		return values[point] + (nextValue - values[point]) * (iteration - iterations[point])
+				/ (nextIteration - iterations[point]);
+	}
+
+	private void append(long iteration, double value) {
+
+		if (size == values.length) {
+			iterations = Arrays.copyOf(iterations, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		iterations[size] = iteration;
+		values[size] = value;
+		size++;
+	}
+}
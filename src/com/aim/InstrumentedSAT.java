@@ -0,0 +1,170 @@
+package com.aim;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A {@link SAT} problem that counts its bit flips, objective function evaluations and
+ * solution copies in a {@link TrialMetrics}.
+ *
+ * Operations made while the framework constructs the problem (creating the initial
+ * solutions) are not counted, nor are the objective values runners read for their fitness
+ * traces through {@link #getTraceValue(int)}. Evaluations done outside the problem by an
+ * {@link com.aim.evaluation.IncrementalEvaluator} are reported to the same metrics by the
+ * evaluator itself.
+ *
+ * Every change to a solution memory slot also advances the version of the slot, so that an
+ * incremental evaluator can tell whether the solution it last read or wrote is still current.
+ */
+public class InstrumentedSAT extends SAT {
+
+	private final int instanceId;
+
+	private final TrialMetrics metrics;
+
+	/**
+	 * The number of changes made to each solution memory slot, grown as slots are changed.
+	 */
+	private long[] versions = new long[2];
+
+	public InstrumentedSAT(int instanceId, int runTime, Random random) {
+		super(instanceId, runTime, random);
+		this.instanceId = instanceId;
+		this.metrics = new TrialMetrics();
+	}
+
+	public InstrumentedSAT(int instanceId, int runTime, Random random, int populationSize) {
+		super(instanceId, runTime, random, populationSize);
+		this.instanceId = instanceId;
+		this.metrics = new TrialMetrics();
+	}
+
+	public InstrumentedSAT(int instanceId, int runTime, Random random, int populationSize, int memeCount,
+			int[] optionsPerMeme) {
+		super(instanceId, runTime, random, populationSize, memeCount, optionsPerMeme);
+		this.instanceId = instanceId;
+		this.metrics = new TrialMetrics();
+	}
+
+	@Override
+	public void bitFlip(int variable, int memoryIndex) {
+
+		super.bitFlip(variable, memoryIndex);
+		// null while the super constructor runs
+		if (metrics != null) {
+			metrics.recordFlip();
+			solutionChanged(memoryIndex);
+		}
+	}
+
+	@Override
+	public double getObjectiveFunctionValue(int memoryIndex) {
+
+		if (metrics != null) {
+			metrics.recordEvaluation();
+		}
+		return super.getObjectiveFunctionValue(memoryIndex);
+	}
+
+	@Override
+	public void copySolution(int from, int to) {
+
+		super.copySolution(from, to);
+		if (metrics != null) {
+			metrics.recordCopy();
+			solutionChanged(to);
+		}
+	}
+
+	@Override
+	public void exchangeBits(int memoryIndex1, int memoryIndex2, int variable) {
+
+		super.exchangeBits(memoryIndex1, memoryIndex2, variable);
+		if (metrics != null) {
+			solutionChanged(memoryIndex1);
+			solutionChanged(memoryIndex2);
+		}
+	}
+
+	@Override
+	public void createRandomSolution(int memoryIndex) {
+
+		super.createRandomSolution(memoryIndex);
+		if (metrics != null) {
+			solutionChanged(memoryIndex);
+		}
+	}
+
+	/**
+	 * @param memoryIndex The solution memory index.
+	 * @return A number that changes whenever the solution in the slot changes after construction.
+	 */
+	public long getSolutionVersion(int memoryIndex) {
+		return memoryIndex < versions.length ? versions[memoryIndex] : 0;
+	}
+
+	/**
+	 * Advances the version of a slot; subclasses that change solutions without calling the
+	 * methods of this class call it themselves.
+	 */
+	protected void solutionChanged(int memoryIndex) {
+
+		if (memoryIndex >= versions.length) {
+			versions = Arrays.copyOf(versions, Math.max(memoryIndex + 1, versions.length * 2));
+		}
+		versions[memoryIndex]++;
+	}
+
+	/**
+	 * Reads the objective value of a solution without counting an evaluation, so that recording
+	 * the progress of a search does not use up its evaluation budget.
+	 *
+	 * @param memoryIndex The solution memory index.
+	 * @return The objective value of the solution.
+	 */
+	public double getTraceValue(int memoryIndex) {
+		return evaluateUncounted(memoryIndex);
+	}
+
+	/**
+	 * @param problem The problem holding the solution.
+	 * @param memoryIndex The solution memory index.
+	 * @return The objective value of the solution, read without counting an evaluation if the
+	 *         problem is instrumented.
+	 */
+	public static double traceValueOf(SAT problem, int memoryIndex) {
+		return problem instanceof InstrumentedSAT instrumented ? instrumented.getTraceValue(memoryIndex)
+				: problem.getObjectiveFunctionValue(memoryIndex);
+	}
+
+	/**
+	 * Evaluates a solution without counting the evaluation; subclasses that hold their
+	 * solutions outside the framework's solution memory evaluate them here.
+	 *
+	 * @param memoryIndex The solution memory index.
+	 * @return The objective value of the solution.
+	 */
+	protected double evaluateUncounted(int memoryIndex) {
+		return super.getObjectiveFunctionValue(memoryIndex);
+	}
+
+	/**
+	 * @return The ID of the bundled instance the problem was created with.
+	 */
+	public int getInstanceId() {
+		return instanceId;
+	}
+
+	public TrialMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return The number of objective function evaluations so far.
+	 */
+	public long getEvaluations() {
+		return metrics.getEvaluations();
+	}
+}
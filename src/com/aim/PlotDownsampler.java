@@ -0,0 +1,224 @@
+package com.aim;
+
+import uk.ac.nott.cs.aim.statistics.PlotData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * Reduces progress plot series to a bounded number of points with Largest-Triangle-Three-Buckets
+ * before they are handed to {@link uk.ac.nott.cs.aim.statistics.XLineChart}.
+ *
+ * The series of one chart share a stride: the iterations of each trial are split into buckets
+ * of <code>stride</code> iterations, one per plotted point, and from each bucket the point
+ * forming the largest triangle with the point chosen from the previous bucket and the average
+ * of the next bucket is kept. Spikes and plateaus therefore survive, unlike with uniform
+ * sampling. As {@link PlotData} has no x values, point j is drawn at x = j and stands for
+ * iteration j * stride, give or take half a bucket (a whole one for the last bucket before the
+ * final point), which {@link #axisLabel(long)} states.
+ */
+public final class PlotDownsampler {
+
+	private PlotDownsampler() {
+	}
+
+	/**
+	 * @param runs The trials plotted on one chart.
+	 * @return The smallest stride at which no trial has more than
+	 *         {@link ExperimentalSettings#PLOT_POINTS} points.
+	 */
+	public static long stride(List<RunData> runs) {
+
+		long stride = 1;
+		for (RunData run : runs) {
+			stride = Math.max(stride, traceOf(run).getStride(ExperimentalSettings.PLOT_POINTS));
+		}
+		return stride;
+	}
+
+	/**
+	 * @param stride The stride of the series of a chart.
+	 * @return The label of the x-axis of the chart.
+	 */
+	public static String axisLabel(long stride) {
+		return stride == 1 ? "Iteration" : String.format("Iteration (x %d)", stride);
+	}
+
+	/**
+	 * Creates the progress plot series of several trials, downsampled in parallel.
+	 *
+	 * @param runs The trials to plot.
+	 * @param seriesName The name of the series of a trial.
+	 * @param stride The stride of the chart, see {@link #stride(List)}.
+	 * @return The series, in the order of <code>runs</code>.
+	 */
+	public static List<PlotData> toPlotData(List<RunData> runs, Function<RunData, String> seriesName, long stride) {
+
+		return runs.parallelStream()
+				.map(run -> new PlotData(downsample(run, stride), seriesName.apply(run)))
+				.toList();
+	}
+
+	/**
+	 * @param run A trial.
+	 * @param stride The number of iterations per point, at least 1.
+	 * @return Its objective values reduced to one point per <code>stride</code> iterations,
+	 *         the first and last iteration included.
+	 */
+	public static List<Double> downsample(RunData run, long stride) {
+
+		FitnessTrace trace = traceOf(run);
+		long last = trace.getIterationCount() - 1;
+		int points = (int) ((last + stride - 1) / stride) + 1;
+		if (stride == 1 || points < 3) {
+			return trace.sample(stride);
+		}
+
+		// the kept points of the trace, and its last iteration if that was not kept
+		int size = trace.size();
+		boolean lastKept = trace.getIteration(size - 1) == last;
+		double[] x = new double[lastKept ? size : size + 1];
+		double[] y = new double[x.length];
+		for (int i = 0; i < size; i++) {
+			x[i] = trace.getIteration(i);
+			y[i] = trace.getValue(i);
+		}
+		if (!lastKept) {
+			x[size] = last;
+			y[size] = trace.getLastValue();
+		}
+		if (x.length <= points) {
+			// fewer kept points than buckets, so reconstruct the trace at the bucket centres
+			return trace.sample(stride);
+		}
+		return toList(largestTriangleThreeBuckets(x, y, x.length, points, stride,
+				iteration -> trace.getValueAt(Math.round(iteration))));
+	}
+
+	/**
+	 * @return The trace of the trial, or one recording every value of a trial created from a list.
+	 */
+	private static FitnessTrace traceOf(RunData run) {
+
+		FitnessTrace trace = run.getTrace();
+		if (trace == null) {
+			trace = new FitnessTrace(FitnessTrace.Policy.EVERY_ITERATION, 1);
+			for (double value : run.getData()) {
+				trace.record(value);
+			}
+		}
+		return trace;
+	}
+
+	/**
+	 * Largest-Triangle-Three-Buckets over buckets of equal width in x.
+	 *
+	 * @param x The x values, strictly increasing.
+	 * @param y The y values.
+	 * @param size The number of points.
+	 * @param threshold The number of points to return, at least 3.
+	 * @param valueAt The value of the series at any x, used for buckets containing no points.
+	 * @return The y values of the chosen points, the first and last point included.
+	 */
+	public static double[] largestTriangleThreeBuckets(double[] x, double[] y, int size, int threshold,
+			DoubleUnaryOperator valueAt) {
+
+		return largestTriangleThreeBuckets(x, y, size, threshold,
+				size > 1 ? (x[size - 1] - x[0]) / (threshold - 1) : 0, valueAt);
+	}
+
+	/**
+	 * Largest-Triangle-Three-Buckets over buckets of a given width in x, so that the chosen
+	 * point j comes from within half a width of <code>x[0] + j * width</code>.
+	 *
+	 * @param width The width of a bucket, such that <code>(threshold - 1) * width</code> is at
+	 *        least the range of the x values.
+	 * @see #largestTriangleThreeBuckets(double[], double[], int, int, DoubleUnaryOperator)
+	 */
+	public static double[] largestTriangleThreeBuckets(double[] x, double[] y, int size, int threshold,
+			double width, DoubleUnaryOperator valueAt) {
+
+		if (threshold < 3) {
+			throw new IllegalArgumentException("Threshold must be at least 3 but was " + threshold);
+		}
+		if (size <= threshold) {
+			return Arrays.copyOf(y, size);
+		}
+
+		double first = x[0];
+
+		// bucket b (1 .. threshold - 2) holds the interior points within half a width of first + b * width
+		int[] start = new int[threshold];
+		double[] sumX = new double[threshold];
+		double[] sumY = new double[threshold];
+		start[0] = 0;
+		start[threshold - 1] = size - 1;
+		int i = 1;
+		for (int b = 1; b < threshold - 1; b++) {
+			start[b] = i;
+			// the last bucket also takes the points within half a width of the last point
+			double end = b == threshold - 2 ? Double.POSITIVE_INFINITY : first + (b + 0.5) * width;
+			while (i < size - 1 && x[i] < end) {
+				sumX[b] += x[i];
+				sumY[b] += y[i];
+				i++;
+			}
+		}
+
+		double[] sampled = new double[threshold];
+		sampled[0] = y[0];
+		sampled[threshold - 1] = y[size - 1];
+
+		double previousX = x[0];
+		double previousY = y[0];
+		for (int b = 1; b < threshold - 1; b++) {
+			double centre = first + b * width;
+
+			// the average of the next bucket, or the last point
+			double nextX;
+			double nextY;
+			if (b + 1 == threshold - 1) {
+				nextX = x[size - 1];
+				nextY = y[size - 1];
+			} else {
+				int count = start[b + 2] - start[b + 1];
+				nextX = count > 0 ? sumX[b + 1] / count : centre + width;
+				nextY = count > 0 ? sumY[b + 1] / count : valueAt.applyAsDouble(nextX);
+			}
+
+			int to = start[b + 1];
+			if (start[b] == to) {
+				previousX = centre;
+				previousY = valueAt.applyAsDouble(centre);
+			} else {
+				double bestArea = -1;
+				int best = start[b];
+				for (int p = start[b]; p < to; p++) {
+					double area = Math.abs((previousX - nextX) * (y[p] - previousY)
+							- (previousX - x[p]) * (nextY - previousY));
+					if (area > bestArea) {
+						bestArea = area;
+						best = p;
+					}
+				}
+				previousX = x[best];
+				previousY = y[best];
+			}
+			sampled[b] = previousY;
+		}
+
+		return sampled;
+	}
+
+	private static List<Double> toList(double[] values) {
+
+		List<Double> list = new ArrayList<>(values.length);
+		for (double value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+}
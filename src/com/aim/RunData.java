@@ -9,7 +9,9 @@ import java.util.ArrayList;
  */
 public class RunData {
 		
-	private final ArrayList<Double> m_data;
+	private ArrayList<Double> m_data;
+
+	private final FitnessTrace m_trace;
 	
 	private final Double m_best;
 	
@@ -24,6 +26,7 @@ public class RunData {
 	public RunData(ArrayList<Double> data, Double best, String heuristicName, int heuristicId, int trialId, String solution) {
 		
 		this.m_data = data;
+		this.m_trace = null;
 		this.m_best = best;
 		this.m_heuristicName = heuristicName;
 		this.m_heuristicId = heuristicId;
@@ -31,9 +34,47 @@ public class RunData {
 		this.m_solution = solution;
 	}
 	
-	public ArrayList<Double> getData() {
+	/**
+	 * @param trace The objective value of each iteration, kept according to the trace's policy.
+	 */
+	public RunData(FitnessTrace trace, Double best, String heuristicName, int heuristicId, int trialId, String solution) {
+		
+		this.m_data = null;
+		this.m_trace = trace;
+		this.m_best = best;
+		this.m_heuristicName = heuristicName;
+		this.m_heuristicId = heuristicId;
+		this.m_trialId = trialId;
+		this.m_solution = solution;
+	}
+	
+	/**
+	 * @return The objective values of the trial. If it has a trace, these are reconstructed at
+	 *         every {@link #getDataStride()}-th iteration and at the last one, so that value j
+	 *         is that of iteration j * {@link #getDataStride()}.
+	 */
+	public synchronized ArrayList<Double> getData() {
+		if (m_data == null) {
+			m_data = m_trace.sample(getDataStride());
+		}
 		return m_data;
 	}
+
+	/**
+	 * @return The number of iterations between the values of {@link #getData()}, the smallest
+	 *         giving no more than {@link ExperimentalSettings#TRACE_POINTS} values, or 1 if the
+	 *         trial was created from a list of values.
+	 */
+	public long getDataStride() {
+		return m_trace == null ? 1 : m_trace.getStride(ExperimentalSettings.TRACE_POINTS);
+	}
+
+	/**
+	 * @return The trace of the trial, or null if it was created from a list of values.
+	 */
+	public FitnessTrace getTrace() {
+		return m_trace;
+	}
 	
 	public Double getBestSolutionValue() {
 		return m_best;
@@ -0,0 +1,138 @@
+package com.aim;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when a trial stops, replacing direct calls to {@link SAT#hasTimeExpired()} in the
+ * main loop of a runner.
+ *
+ * Besides the framework's wall-clock limit, a trial can be limited by the CPU time of its own
+ * thread, which does not depend on how many other trials share the machine, or by a number of
+ * objective function evaluations. The clock or counter is only read every
+ * <code>checkInterval</code> calls to {@link #hasExpired()}, so checking costs a decrement
+ * on almost every iteration.
+ */
+public class TerminationController {
+
+	public enum Criterion {
+		/**
+		 * The run time given to the {@link SAT} constructor, measured by the framework.
+		 */
+		WALL_CLOCK,
+		/**
+		 * CPU time of the thread running the trial. Work the trial hands to other threads is
+		 * not counted.
+		 */
+		CPU_TIME,
+		/**
+		 * A number of objective function evaluations.
+		 */
+		EVALUATIONS
+	}
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final Criterion criterion;
+
+	private final SAT problem;
+
+	private final long limit;
+
+	private final LongSupplier evaluations;
+
+	private final int checkInterval;
+
+	private final long cpuStart;
+
+	private int untilNextCheck;
+
+	private boolean expired = false;
+
+	private TerminationController(Criterion criterion, SAT problem, long limit, LongSupplier evaluations,
+			int checkInterval) {
+
+		if (checkInterval < 1) {
+			throw new IllegalArgumentException("Check interval must be positive but was " + checkInterval);
+		}
+		this.criterion = criterion;
+		this.problem = problem;
+		this.limit = limit;
+		this.evaluations = evaluations;
+		this.checkInterval = checkInterval;
+		this.untilNextCheck = 1;
+		this.cpuStart = criterion == Criterion.CPU_TIME ? currentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * @param problem The problem whose run time limits the trial.
+	 * @return A controller that stops when the problem reports that its time has expired.
+	 */
+	public static TerminationController wallClock(SAT problem) {
+		return new TerminationController(Criterion.WALL_CLOCK, problem, 0, null, 1);
+	}
+
+	/**
+	 * Must be created on the thread that runs the trial, which starts its CPU clock.
+	 *
+	 * @param seconds The CPU time of the trial in seconds.
+	 * @param checkInterval The number of checks per read of the CPU clock.
+	 * @return A controller that stops once the calling thread has used <code>seconds</code> of CPU time.
+	 */
+	public static TerminationController cpuTime(double seconds, int checkInterval) {
+		return new TerminationController(Criterion.CPU_TIME, null, (long) (seconds * 1e9), null, checkInterval);
+	}
+
+	/**
+	 * @param maxEvaluations The number of objective function evaluations of the trial.
+	 * @param evaluations The number of evaluations performed so far.
+	 * @param checkInterval The number of checks per read of the counter.
+	 * @return A controller that stops once <code>maxEvaluations</code> have been performed.
+	 */
+	public static TerminationController evaluations(long maxEvaluations, LongSupplier evaluations, int checkInterval) {
+		return new TerminationController(Criterion.EVALUATIONS, null, maxEvaluations, evaluations, checkInterval);
+	}
+
+	/**
+	 * @return true once the budget of the trial is exhausted; remains true afterwards.
+	 */
+	public boolean hasExpired() {
+
+		if (expired) {
+			return true;
+		}
+		if (--untilNextCheck > 0) {
+			return false;
+		}
+		untilNextCheck = checkInterval;
+
+		expired = switch (criterion) {
+			case WALL_CLOCK -> problem.hasTimeExpired();
+			case CPU_TIME -> currentThreadCpuTime() - cpuStart >= limit;
+			case EVALUATIONS -> evaluations.getAsLong() >= limit;
+		};
+		return expired;
+	}
+
+	public Criterion getCriterion() {
+		return criterion;
+	}
+
+	/**
+	 * @return The CPU time of the calling thread in nanoseconds, or the elapsed wall-clock
+	 *         time if the JVM cannot measure thread CPU time.
+	 */
+	private static long currentThreadCpuTime() {
+
+		if (THREADS.isCurrentThreadCpuTimeSupported()) {
+			if (!THREADS.isThreadCpuTimeEnabled()) {
+				THREADS.setThreadCpuTimeEnabled(true);
+			}
+			return THREADS.getCurrentThreadCpuTime();
+		}
+		return System.nanoTime();
+	}
+}
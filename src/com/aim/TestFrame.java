@@ -1,10 +1,18 @@
 package com.aim;
 
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.ClauseIndexSAT;
+import com.aim.instances.InstanceCache;
+import com.aim.random.RandomStreams;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -35,6 +43,16 @@ public abstract class TestFrame {
 	 */
 	private final int m_totalRuns;
 
+	/**
+	 * The results file of the per-trial operation counts and rates.
+	 */
+	protected static final String METRICS_FILE = "TrialMetrics.csv";
+
+	/**
+	 * The open results files, by path.
+	 */
+	private final Map<Path, CsvResultsSink> m_resultSinks = new ConcurrentHashMap<>();
+
 	/**
 	 * 
 	 * @param config
@@ -43,6 +61,7 @@ public abstract class TestFrame {
 		
 		this.m_oTestConfiguration = config;
 		this.m_totalRuns = config.getTotalRuns();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::closeResults));
 		
 		// use a seeded random number generator to generate "TOTAL_RUNS" seeds
 		SEEDS = new long[getTotalRuns()];
@@ -76,6 +95,26 @@ public abstract class TestFrame {
 	}
 
 	/**
+	 * Runs every trial of every heuristic as one flat queue of tasks on an
+	 * {@link ExperimentScheduler} configured by the {@link ExperimentalSettings}. Every heuristic
+	 * is first assumed to take the configured run time; once one of its trials has finished, the
+	 * scheduler orders the heuristics by their measured trial times.
+	 *
+	 * @param heuristics The number of heuristics, with IDs 0 .. heuristics - 1.
+	 * @param runner Runs one trial.
+	 * @return The result of each trial, ordered by heuristic ID and then trial ID.
+	 */
+	public <T> List<T> runUsingExperimentScheduler(int heuristics, ExperimentScheduler.TrialRunner<T> runner) {
+
+		TestFrameConfig config = getTestConfiguration();
+		try (ExperimentScheduler scheduler = ExperimentScheduler.fromSettings()) {
+			return scheduler.run(ExperimentScheduler.grid(1, heuristics, getTotalRuns(),
+					(configuration, heuristicId) -> config.getRunTime()), runner);
+		}
+	}
+
+	/**
+	 * Appends a row to a results file, creating it with a header if it does not exist.
 	 * 
 	 * @param filePath
 	 * @param header
@@ -83,45 +122,53 @@ public abstract class TestFrame {
 	 */
 	protected void saveData(String filePath, String header, String data) {
 		
+		//add header
+		for(int i = 0; i < getTotalRuns(); i++) {
+			
+			header += ("," + i);
+		}
+		
+		header += ",Best Solution As String";
+		
+		appendResult(filePath, header, data);
+	}
+
+	/**
+	 * Queues a row for the results file, which is opened once per run of the test frame and
+	 * appended to by a single writer thread, so this is safe to call from parallel trials.
+	 * 
+	 * @param filePath The results file, relative to the working directory.
+	 * @param header The header row, written only if the file is new.
+	 * @param data The row to append.
+	 */
+	protected void appendResult(String filePath, String header, String data) {
+
 		Path path = Paths.get("./" + filePath);
-		if(!Files.exists(path)) {
+		CsvResultsSink sink = m_resultSinks.computeIfAbsent(path, p -> {
 			try {
-				Files.createFile(path);
-				
-				//add header
-				for(int i = 0; i < getTotalRuns(); i++) {
-					
-					header += ("," + i);
-				}
-				
-				header += ",Best Solution As String";
-				
-				Files.write(path, (header + "\r\n" + data).getBytes());
-				
+				return new CsvResultsSink(p, header);
 			} catch (IOException e) {
-				System.err.println("Could not create file at " + path.toAbsolutePath());
-				System.err.println("Printing data to screen instead...");
-				System.out.println(data);
+				return null;
 			}
-			
+		});
+
+		if (sink == null) {
+			System.err.println("Could not create file at " + path.toAbsolutePath());
+			System.err.println("Printing data to screen instead...");
+			System.out.println(data);
 		} else {
-			
-			try {
-				byte[] currentData = Files.readAllBytes(path);
-				data = "\r\n" + data;
-				byte[] newData = data.getBytes();
-				byte[] writeData = new byte[currentData.length + newData.length];
-				System.arraycopy(currentData, 0, writeData, 0, currentData.length);
-				System.arraycopy(newData, 0, writeData, currentData.length, newData.length);
-				Files.write(path, writeData);
-				
-			} catch (IOException e) {
-				System.err.println("Could not create file at " + path.toAbsolutePath());
-				System.err.println("Printing data to screen instead...");
-				System.out.println(data);
-			}
+			sink.append(data);
 		}
 	}
+
+	/**
+	 * Writes all queued results and closes the results files. Also run when the JVM exits.
+	 */
+	public void closeResults() {
+
+		m_resultSinks.values().forEach(CsvResultsSink::close);
+		m_resultSinks.clear();
+	}
 	
 	/**
 	 * 
@@ -149,6 +196,26 @@ public abstract class TestFrame {
 				"Best Solution: " + solution + NEW_LINE);
 	}
 	
+	/**
+	 * Prints the operation counts and rates of a trial and appends them to
+	 * {@link #METRICS_FILE}.
+	 *
+	 * @param methodName The name of the heuristic or search method.
+	 * @param runId The trial ID.
+	 * @param metrics The metrics of the trial, stopped by this call.
+	 */
+	public void logMetrics(String methodName, int runId, TrialMetrics metrics) {
+
+		metrics.stop();
+		System.out.println("Heuristic: " + methodName + NEW_LINE +
+				"Run ID: " + runId + NEW_LINE +
+				"Metrics: " + metrics + NEW_LINE);
+
+		appendResult(METRICS_FILE, "Heuristic,Instance ID,Run Time,Run ID," + TrialMetrics.CSV_HEADER,
+				"\"" + methodName + "\"," + m_oTestConfiguration.getInstanceId() + ","
+						+ m_oTestConfiguration.getRunTime() + "," + runId + "," + metrics.toCsv());
+	}
+	
 	public TestFrameConfig getTestConfiguration() {
 		return m_oTestConfiguration;
 	}
@@ -156,6 +223,98 @@ public abstract class TestFrame {
 	public long[] getExperimentalSeeds() {
 		return SEEDS;
 	}
+
+	/**
+	 * @return The run time to give to the {@link SAT} constructor: the configured run time when
+	 *         trials are limited by wall-clock time, otherwise unlimited so that the
+	 *         {@link TerminationController} alone decides when a trial stops.
+	 */
+	public int getProblemRunTime() {
+
+		return ExperimentalSettings.TERMINATION == TerminationController.Criterion.WALL_CLOCK
+				? m_oTestConfiguration.getRunTime() : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @param random The random number generator of the trial.
+	 * @return The problem of a trial, counting its operations in a {@link TrialMetrics}.
+	 */
+	public InstrumentedSAT createProblem(Random random) {
+
+		int runTime = getProblemRunTime();
+		return m_oTestConfiguration.getInstanceFile() == null
+				? new InstrumentedSAT(m_oTestConfiguration.getInstanceId(), runTime, random)
+				: new ClauseIndexSAT(getInstanceFormula(), runTime, random);
+	}
+
+	/**
+	 * @param random The random number generator of the trial.
+	 * @param runTime The run time of the trial in seconds.
+	 * @param populationSize The population size.
+	 * @return The problem of a population based trial.
+	 */
+	public InstrumentedSAT createProblem(Random random, int runTime, int populationSize) {
+
+		return m_oTestConfiguration.getInstanceFile() == null
+				? new InstrumentedSAT(m_oTestConfiguration.getInstanceId(), runTime, random, populationSize)
+				: new ClauseIndexSAT(getInstanceFormula(), runTime, random, populationSize);
+	}
+
+	/**
+	 * @param random The random number generator of the trial.
+	 * @param runTime The run time of the trial in seconds.
+	 * @param populationSize The population size.
+	 * @param memeCount The number of memes of each solution.
+	 * @param optionsPerMeme The number of options of each meme.
+	 * @return The problem of a multimeme trial.
+	 */
+	public InstrumentedSAT createProblem(Random random, int runTime, int populationSize, int memeCount,
+			int[] optionsPerMeme) {
+
+		return m_oTestConfiguration.getInstanceFile() == null
+				? new InstrumentedSAT(m_oTestConfiguration.getInstanceId(), runTime, random, populationSize,
+						memeCount, optionsPerMeme)
+				: new ClauseIndexSAT(getInstanceFormula(), runTime, random, populationSize, memeCount, optionsPerMeme);
+	}
+
+	/**
+	 * @return The formula of {@link TestFrameConfig#getInstanceFile()}, shared by all trials
+	 *         through the {@link InstanceCache}.
+	 */
+	private ClauseIndex getInstanceFormula() {
+		return InstanceCache.forFile(Paths.get(m_oTestConfiguration.getInstanceFile()));
+	}
+
+	/**
+	 * Must be called on the thread that runs the trial.
+	 *
+	 * @param problem The problem of the trial, created with {@link #getProblemRunTime()}.
+	 *                Evaluation budgets require an {@link InstrumentedSAT}.
+	 * @return The termination controller of a trial as configured in the {@link ExperimentalSettings}.
+	 */
+	public TerminationController createTerminationController(SAT problem) {
+
+		return switch (ExperimentalSettings.TERMINATION) {
+			case WALL_CLOCK -> TerminationController.wallClock(problem);
+			case CPU_TIME -> TerminationController.cpuTime(m_oTestConfiguration.getRunTime(),
+					ExperimentalSettings.TERMINATION_CHECK_INTERVAL);
+			case EVALUATIONS -> {
+				if (!(problem instanceof InstrumentedSAT instrumented)) {
+					throw new IllegalStateException("Evaluation budgets need an InstrumentedSAT, see createProblem");
+				}
+				yield TerminationController.evaluations(ExperimentalSettings.MAX_EVALUATIONS,
+						instrumented::getEvaluations, ExperimentalSettings.TERMINATION_CHECK_INTERVAL);
+			}
+		};
+	}
+
+	/**
+	 * @param trialId The trial ID.
+	 * @return A new random number generator seeded with the experimental seed of the trial.
+	 */
+	public Random createRandom(int trialId) {
+		return RandomStreams.create(SEEDS[trialId]);
+	}
 	
 	/**
 	 * 
@@ -14,6 +14,14 @@ public abstract class TestFrameConfig {
 	}
 	
 	public abstract int getInstanceId();
+
+	/**
+	 * @return A DIMACS CNF file to solve instead of the bundled instance {@link #getInstanceId()},
+	 *         or null. Defaults to -Daim.instanceFile.
+	 */
+	public String getInstanceFile() {
+		return System.getProperty("aim.instanceFile");
+	}
 	
 	public abstract int getRunTime();
 	
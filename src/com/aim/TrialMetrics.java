@@ -0,0 +1,163 @@
+package com.aim;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation counts of one trial: bit flips, objective function evaluations and solution
+ * copies made through its {@link InstrumentedSAT}, plus the accepted and rejected moves and
+ * iterations reported by the search method and the runner.
+ *
+ * The counters are {@link LongAdder}s, so operators running on other threads of the same
+ * trial (e.g. parallel local search) can record without contending on a single counter.
+ * Rates are per second of wall-clock time from the creation of the metrics to {@link #stop()}.
+ */
+public class TrialMetrics {
+
+	/**
+	 * The header of the rows produced by {@link #toCsv()}.
+	 */
+	public static final String CSV_HEADER = "Iterations,Flips,Evaluations,Copies,Accepted,Rejected,"
+			+ "Seconds,Flips/s,Evaluations/s";
+
+	private final LongAdder flips = new LongAdder();
+
+	private final LongAdder evaluations = new LongAdder();
+
+	private final LongAdder copies = new LongAdder();
+
+	private final LongAdder accepted = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final LongAdder iterations = new LongAdder();
+
+	private final long startTime = System.nanoTime();
+
+	private volatile long stopTime = 0;
+
+	/**
+	 * @param problem The problem of a trial.
+	 * @return The metrics of the trial, or null if the problem is not instrumented.
+	 */
+	public static TrialMetrics of(SAT problem) {
+		return problem instanceof InstrumentedSAT instrumented ? instrumented.getMetrics() : null;
+	}
+
+	public void recordFlip() {
+		flips.increment();
+	}
+
+	public void recordEvaluation() {
+		evaluations.increment();
+	}
+
+	/**
+	 * Records evaluations made outside the problem, e.g. by an incremental evaluator.
+	 */
+	public void recordEvaluations(long count) {
+		evaluations.add(count);
+	}
+
+	public void recordCopy() {
+		copies.increment();
+	}
+
+	public void recordAccept() {
+		accepted.increment();
+	}
+
+	public void recordReject() {
+		rejected.increment();
+	}
+
+	public void recordIteration() {
+		iterations.increment();
+	}
+
+	/**
+	 * Adds the counts of other metrics, e.g. of one replica of a parallel search, to these.
+	 */
+	public void add(TrialMetrics other) {
+
+		flips.add(other.getFlips());
+		evaluations.add(other.getEvaluations());
+		copies.add(other.getCopies());
+		accepted.add(other.getAccepted());
+		rejected.add(other.getRejected());
+		iterations.add(other.getIterations());
+	}
+
+	/**
+	 * Stops the clock of the trial; later calls have no effect.
+	 */
+	public void stop() {
+
+		if (stopTime == 0) {
+			stopTime = System.nanoTime();
+		}
+	}
+
+	public long getFlips() {
+		return flips.sum();
+	}
+
+	public long getEvaluations() {
+		return evaluations.sum();
+	}
+
+	public long getCopies() {
+		return copies.sum();
+	}
+
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getIterations() {
+		return iterations.sum();
+	}
+
+	/**
+	 * @return The wall-clock time of the trial so far, or until {@link #stop()}, in seconds.
+	 */
+	public double getElapsedSeconds() {
+		return ((stopTime == 0 ? System.nanoTime() : stopTime) - startTime) / 1e9;
+	}
+
+	public double getFlipsPerSecond() {
+		return perSecond(getFlips());
+	}
+
+	public double getEvaluationsPerSecond() {
+		return perSecond(getEvaluations());
+	}
+
+	/**
+	 * @return The counts and rates as a CSV row matching {@link #CSV_HEADER}.
+	 */
+	public String toCsv() {
+		return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%.3f,%.1f,%.1f", getIterations(), getFlips(),
+				getEvaluations(), getCopies(), getAccepted(), getRejected(), getElapsedSeconds(),
+				getFlipsPerSecond(), getEvaluationsPerSecond());
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%d iterations, %.0f flips/s, %.0f evaluations/s, %d copies, "
+				+ "%d accepted, %d rejected", getIterations(), getFlipsPerSecond(), getEvaluationsPerSecond(),
+				getCopies(), getAccepted(), getRejected());
+	}
+
+	private double perSecond(long count) {
+
+		double seconds = getElapsedSeconds();
+		return seconds > 0 ? count / seconds : 0;
+	}
+}
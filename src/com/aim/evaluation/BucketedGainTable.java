@@ -0,0 +1,61 @@
+package com.aim.evaluation;
+
+/**
+ * A {@link GainTable} that keeps every variable in a {@link GainBucketQueue} so that
+ * best-improvement and least-improvement moves are found without scanning all variables.
+ */
+public class BucketedGainTable extends GainTable {
+
+	private final GainBucketQueue queue;
+
+	public BucketedGainTable(ClauseIndex index) {
+
+		super(index);
+		this.queue = new GainBucketQueue(index.getNumberOfVariables(), index.getMaxOccurrences());
+	}
+
+	@Override
+	public void load(boolean[] values) {
+
+		super.load(values);
+
+		queue.clear();
+		for (int v = 0; v < make.length; v++) {
+			queue.update(v, getGain(v));
+		}
+	}
+
+	@Override
+	protected void gainChanged(int variable) {
+		queue.update(variable, getGain(variable));
+	}
+
+	/**
+	 * @return A variable with the largest gain, or -1 if there are no variables.
+	 */
+	public int getBestVariable() {
+		return queue.peekBest();
+	}
+
+	/**
+	 * Counts as evaluating every neighbour, which is what the lookup replaces.
+	 *
+	 * @return The largest gain of any variable.
+	 */
+	public int getBestGain() {
+
+		countEvaluations(make.length);
+		return queue.getBestGain();
+	}
+
+	/**
+	 * Counts as evaluating every neighbour, which is what the lookup replaces.
+	 *
+	 * @return A variable with the smallest strictly positive gain, or -1 if no flip improves.
+	 */
+	public int getLeastImprovingVariable() {
+
+		countEvaluations(make.length);
+		return queue.peekLeastAtLeast(1);
+	}
+}
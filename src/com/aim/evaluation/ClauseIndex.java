@@ -0,0 +1,255 @@
+package com.aim.evaluation;
+
+import com.aim.InstrumentedSAT;
+import com.aim.instances.InstanceCache;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Arrays;
+
+/**
+ * An immutable view of a MAX-SAT formula laid out for incremental evaluation.
+ *
+ * Clauses are stored in compressed sparse row (CSR) form; each literal is encoded
+ * as <code>(variable << 1) | negated</code> with 0-based variable indices. A second
+ * CSR structure maps every variable to the clauses it occurs in, encoded as
+ * <code>(clause << 1) | negated</code>, so that the effect of flipping a variable
+ * can be computed by visiting only its occurrences.
+ *
+ * Duplicate literals are removed and tautological clauses (containing both x and
+ * !x) are dropped while building the index since they can never be unsatisfied.
+ *
+ * The arrays are never modified after construction, so one index can be shared by any
+ * number of trials and threads, each keeping its assignments and counters separately.
+ */
+public final class ClauseIndex {
+
+	private final int variables;
+
+	/**
+	 * clauseStart[c] .. clauseStart[c + 1] - 1 are the positions of clause c in literals.
+	 */
+	final int[] clauseStart;
+
+	final int[] literals;
+
+	/**
+	 * occurrenceStart[v] .. occurrenceStart[v + 1] - 1 are the positions of variable v in occurrences.
+	 */
+	final int[] occurrenceStart;
+
+	final int[] occurrences;
+
+	/**
+	 * Number of empty clauses in the original formula, these are unsatisfied by every assignment.
+	 */
+	final int emptyClauses;
+
+	private final int maxOccurrences;
+
+	private final int maxClauseLength;
+
+	/**
+	 * @param variables The number of variables in the formula.
+	 * @param clauseStart CSR offsets of the clauses, of length (number of clauses + 1).
+	 * @param dimacsLiterals The literals of all clauses using DIMACS numbering (1-based, negative if negated).
+	 */
+	public ClauseIndex(int variables, int[] clauseStart, int[] dimacsLiterals) {
+
+		this.variables = variables;
+
+		int clauses = clauseStart.length - 1;
+		int[] start = new int[clauses + 1];
+		int[] encoded = new int[dimacsLiterals.length];
+		int[] seenInClause = new int[variables];
+		Arrays.fill(seenInClause, -1);
+		byte[] seenSign = new byte[variables];
+
+		int kept = 0;
+		int written = 0;
+		int empty = 0;
+		for (int c = 0; c < clauses; c++) {
+			int clauseBegin = written;
+			boolean tautology = false;
+			for (int p = clauseStart[c]; p < clauseStart[c + 1]; p++) {
+				int literal = dimacsLiterals[p];
+				int variable = Math.abs(literal) - 1;
+				byte sign = (byte) (literal < 0 ? 1 : 0);
+				if (variable < 0 || variable >= variables) {
+					throw new IllegalArgumentException("Literal " + literal + " in clause " + c
+							+ " is out of range for " + variables + " variables");
+				}
+				if (seenInClause[variable] == c) {
+					if (seenSign[variable] != sign) {
+						tautology = true;
+					}
+					continue;
+				}
+				seenInClause[variable] = c;
+				seenSign[variable] = sign;
+				encoded[written++] = (variable << 1) | sign;
+			}
+
+			if (tautology) {
+				written = clauseBegin;
+			} else if (written == clauseBegin) {
+				empty++;
+			} else {
+				start[kept++] = clauseBegin;
+			}
+		}
+		start[kept] = written;
+
+		this.clauseStart = Arrays.copyOf(start, kept + 1);
+		this.literals = Arrays.copyOf(encoded, written);
+		this.emptyClauses = empty;
+
+		// build the variable -> clause occurrence index with a counting sort
+		this.occurrenceStart = new int[variables + 1];
+		for (int literal : this.literals) {
+			occurrenceStart[(literal >>> 1) + 1]++;
+		}
+		int max = 0;
+		for (int v = 0; v < variables; v++) {
+			max = Math.max(max, occurrenceStart[v + 1]);
+			occurrenceStart[v + 1] += occurrenceStart[v];
+		}
+		this.maxOccurrences = max;
+		this.maxClauseLength = maxClauseLength(this.clauseStart);
+
+		this.occurrences = new int[this.literals.length];
+		int[] next = Arrays.copyOf(occurrenceStart, variables);
+		for (int c = 0; c < kept; c++) {
+			for (int p = this.clauseStart[c]; p < this.clauseStart[c + 1]; p++) {
+				int literal = this.literals[p];
+				occurrences[next[literal >>> 1]++] = (c << 1) | (literal & 1);
+			}
+		}
+	}
+
+	/**
+	 * Wraps already encoded arrays, e.g. read from a {@link CompiledInstance}.
+	 */
+	ClauseIndex(int variables, int[] clauseStart, int[] literals, int[] occurrenceStart, int[] occurrences,
+			int emptyClauses, int maxOccurrences) {
+
+		this.variables = variables;
+		this.clauseStart = clauseStart;
+		this.literals = literals;
+		this.occurrenceStart = occurrenceStart;
+		this.occurrences = occurrences;
+		this.emptyClauses = emptyClauses;
+		this.maxOccurrences = maxOccurrences;
+		this.maxClauseLength = maxClauseLength(clauseStart);
+	}
+
+	/**
+	 * Builds the index for the instance that is loaded in the given problem. The index of a
+	 * bundled instance is built once per JVM and shared through the {@link InstanceCache}.
+	 *
+	 * @param problem The problem whose formula should be indexed.
+	 * @return The clause index of the problem instance.
+	 */
+	public static ClauseIndex of(SAT problem) {
+
+		if (problem instanceof ClauseIndexSAT indexed) {
+			return indexed.getClauseIndex();
+		}
+		if (problem instanceof InstrumentedSAT instrumented) {
+			return InstanceCache.forBundledInstance(instrumented.getInstanceId(),
+					problem.getNumberOfVariables(), problem.getNumberOfClauses(),
+					() -> ProblemAccess.readClauseIndex(problem));
+		}
+		return ProblemAccess.readClauseIndex(problem);
+	}
+
+	public int getNumberOfVariables() {
+		return variables;
+	}
+
+	/**
+	 * @return The number of (non-tautological, non-empty) clauses held by the index.
+	 */
+	public int getNumberOfClauses() {
+		return clauseStart.length - 1;
+	}
+
+	public int getNumberOfLiterals() {
+		return literals.length;
+	}
+
+	/**
+	 * @return The largest number of clauses any single variable occurs in.
+	 */
+	public int getMaxOccurrences() {
+		return maxOccurrences;
+	}
+
+	/**
+	 * @return The largest number of literals of any clause.
+	 */
+	public int getMaxClauseLength() {
+		return maxClauseLength;
+	}
+
+	/**
+	 * @return The number of empty clauses in the original formula, unsatisfied by every assignment.
+	 */
+	public int getNumberOfEmptyClauses() {
+		return emptyClauses;
+	}
+
+	/**
+	 * @param clause The clause index.
+	 * @return The literals of the clause using DIMACS numbering (1-based, negative if negated).
+	 */
+	public int[] getClause(int clause) {
+
+		int[] dimacs = new int[clauseStart[clause + 1] - clauseStart[clause]];
+		for (int p = clauseStart[clause], i = 0; i < dimacs.length; p++, i++) {
+			int variable = (literals[p] >>> 1) + 1;
+			dimacs[i] = (literals[p] & 1) == 0 ? variable : -variable;
+		}
+		return dimacs;
+	}
+
+	/**
+	 * Counts the unsatisfied clauses by scanning the whole formula.
+	 *
+	 * @param assignment The assignment packed as in {@link PackedSolutionMemory},
+	 *                   bit v being bit (v % 64) of word (v / 64).
+	 * @return The number of unsatisfied clauses, including the empty clauses.
+	 */
+	public int countUnsatisfied(long[] assignment) {
+
+		int unsatisfied = emptyClauses;
+		int clauses = clauseStart.length - 1;
+		int p = 0;
+		for (int c = 0; c < clauses; c++) {
+			int end = clauseStart[c + 1];
+			boolean satisfied = false;
+			for (; p < end; p++) {
+				int literal = literals[p];
+				int variable = literal >>> 1;
+				// the literal is satisfied if the bit differs from its negation flag
+				if ((int) ((assignment[variable >>> 6] >>> variable) & 1) != (literal & 1)) {
+					satisfied = true;
+					p = end;
+					break;
+				}
+			}
+			if (!satisfied) {
+				unsatisfied++;
+			}
+		}
+		return unsatisfied;
+	}
+
+	private static int maxClauseLength(int[] clauseStart) {
+
+		int max = 0;
+		for (int c = 0; c + 1 < clauseStart.length; c++) {
+			max = Math.max(max, clauseStart[c + 1] - clauseStart[c]);
+		}
+		return max;
+	}
+}
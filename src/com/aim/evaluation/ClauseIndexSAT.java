@@ -0,0 +1,235 @@
+package com.aim.evaluation;
+
+import com.aim.InstrumentedSAT;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A problem whose formula is a {@link ClauseIndex}, e.g. one read from a DIMACS file,
+ * rather than one of the framework's bundled instances. All existing heuristics and search
+ * methods can run on it since it overrides every solution memory, evaluation and
+ * best-so-far method of {@link uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT}.
+ *
+ * The framework still constructs (and ignores) a bundled instance, which also holds the
+ * memes of each solution. Calls made while it does so, before the fields of this class are
+ * assigned, are passed through to it. The time limit is measured from construction.
+ *
+ * The ClauseIndex is never modified, so the trials of an experiment share the one held by
+ * {@link com.aim.instances.InstanceCache}. Each trial only allocates a {@link SolutionState}
+ * per memory slot: the packed assignment and, once the slot is evaluated, one byte per
+ * clause counting its true literals. Evaluations after the first are then incremental,
+ * costing O(occurrences) per flip instead of a scan of the formula.
+ */
+public class ClauseIndexSAT extends InstrumentedSAT {
+
+	/**
+	 * The bundled instance the framework constructor loads.
+	 */
+	private static final int FRAMEWORK_INSTANCE_ID = 1;
+
+	private final ClauseIndex index;
+
+	private final Random random;
+
+	private final SolutionState[] states;
+
+	private final long deadline;
+
+	private double bestValue = Double.POSITIVE_INFINITY;
+
+	private long[] bestSolution;
+
+	public ClauseIndexSAT(ClauseIndex index, int runTime, Random random) {
+		this(index, runTime, random, 1, 0, new int[0]);
+	}
+
+	public ClauseIndexSAT(ClauseIndex index, int runTime, Random random, int populationSize) {
+		this(index, runTime, random, populationSize, 0, new int[0]);
+	}
+
+	/**
+	 * @param index The formula.
+	 * @param runTime The run time in seconds, Integer.MAX_VALUE for no limit.
+	 * @param random The random number generator used to create the initial solutions.
+	 * @param populationSize The number of parents; memory is allocated for as many offspring.
+	 * @param memeCount The number of memes of each solution.
+	 * @param optionsPerMeme The number of options of each meme.
+	 */
+	public ClauseIndexSAT(ClauseIndex index, int runTime, Random random, int populationSize, int memeCount,
+			int[] optionsPerMeme) {
+
+		super(FRAMEWORK_INSTANCE_ID, runTime, random, populationSize, memeCount, optionsPerMeme);
+
+		this.index = index;
+		this.random = random;
+		this.states = new SolutionState[Math.max(2, 2 * populationSize)];
+		this.deadline = runTime == Integer.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + runTime * 1_000_000_000L;
+
+		for (int i = 0; i < states.length; i++) {
+			states[i] = new SolutionState(index);
+			states[i].randomise(random);
+		}
+	}
+
+	@Override
+	public void bitFlip(int variable, int memoryIndex) {
+
+		if (states == null) {
+			super.bitFlip(variable, memoryIndex);
+			return;
+		}
+		states[memoryIndex].flip(variable);
+		getMetrics().recordFlip();
+		solutionChanged(memoryIndex);
+	}
+
+	@Override
+	public double getObjectiveFunctionValue(int memoryIndex) {
+
+		if (states == null) {
+			return super.getObjectiveFunctionValue(memoryIndex);
+		}
+		getMetrics().recordEvaluation();
+
+		SolutionState state = states[memoryIndex];
+		int value = state.evaluate();
+		if (value < bestValue) {
+			bestValue = value;
+			bestSolution = state.bits.clone();
+		}
+		return value;
+	}
+
+	@Override
+	protected double evaluateUncounted(int memoryIndex) {
+		return states == null ? super.evaluateUncounted(memoryIndex) : states[memoryIndex].evaluate();
+	}
+
+	@Override
+	public void copySolution(int from, int to) {
+
+		if (states == null) {
+			super.copySolution(from, to);
+			return;
+		}
+		states[to].copyFrom(states[from]);
+		getMetrics().recordCopy();
+		solutionChanged(to);
+	}
+
+	@Override
+	public void exchangeBits(int memoryIndex1, int memoryIndex2, int variable) {
+
+		if (states == null) {
+			super.exchangeBits(memoryIndex1, memoryIndex2, variable);
+			return;
+		}
+		exchangeWord(memoryIndex1, memoryIndex2, variable >>> 6, 1L << variable);
+	}
+
+	@Override
+	public void createRandomSolution(int memoryIndex) {
+
+		if (states == null) {
+			super.createRandomSolution(memoryIndex);
+			return;
+		}
+		states[memoryIndex].randomise(random);
+		solutionChanged(memoryIndex);
+	}
+
+	@Override
+	public int getNumberOfVariables() {
+		return index == null ? super.getNumberOfVariables() : index.getNumberOfVariables();
+	}
+
+	@Override
+	public int getNumberOfClauses() {
+		return index == null ? super.getNumberOfClauses() : index.getNumberOfClauses();
+	}
+
+	@Override
+	public int[] getClause(int clause) {
+		return index == null ? super.getClause(clause) : index.getClause(clause);
+	}
+
+	@Override
+	public String getSolutionAsString(int memoryIndex) {
+
+		if (states == null) {
+			return super.getSolutionAsString(memoryIndex);
+		}
+		return toString(states[memoryIndex].bits);
+	}
+
+	/**
+	 * @return -1, the formula is not a bundled instance.
+	 */
+	@Override
+	public int getInstanceId() {
+		return -1;
+	}
+
+	@Override
+	public boolean hasTimeExpired() {
+		return System.nanoTime() >= deadline;
+	}
+
+	@Override
+	public double getBestSolutionValue() {
+		return bestValue;
+	}
+
+	@Override
+	public String getBestSolutionAsString() {
+		return bestSolution == null ? "" : toString(bestSolution);
+	}
+
+	/**
+	 * @return The formula of the problem.
+	 */
+	public ClauseIndex getClauseIndex() {
+		return index;
+	}
+
+	/**
+	 * @return The packed words of the solution in the given memory index (not a copy).
+	 */
+	long[] getPackedSolution(int memoryIndex) {
+		return states[memoryIndex].bits;
+	}
+
+	/**
+	 * Exchanges the bits selected by <code>mask</code> in word <code>word</code> of two solutions,
+	 * flipping only those that differ.
+	 */
+	void exchangeWord(int memoryIndex1, int memoryIndex2, int word, long mask) {
+
+		SolutionState first = states[memoryIndex1];
+		SolutionState second = states[memoryIndex2];
+		long diff = (first.bits[word] ^ second.bits[word]) & mask;
+		int base = word << 6;
+		while (diff != 0) {
+			int variable = base + Long.numberOfTrailingZeros(diff);
+			first.flip(variable);
+			second.flip(variable);
+			diff &= diff - 1;
+		}
+		solutionChanged(memoryIndex1);
+		solutionChanged(memoryIndex2);
+	}
+
+	private String toString(long[] solution) {
+
+		int variables = index.getNumberOfVariables();
+		char[] bits = new char[variables];
+		Arrays.fill(bits, '0');
+		for (int v = 0; v < variables; v++) {
+			if ((solution[v >>> 6] & (1L << v)) != 0) {
+				bits[v] = '1';
+			}
+		}
+		return new String(bits);
+	}
+}
@@ -0,0 +1,162 @@
+package com.aim.evaluation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The binary file format of a compiled {@link ClauseIndex}: a fixed size header followed by
+ * the clause and occurrence CSR arrays as little-endian ints, so an instance can be loaded
+ * without parsing or re-indexing.
+ *
+ * <pre>
+ * int   magic 'AIMC', version
+ * long  source stamp (e.g. the length and modification time of the DIMACS file)
+ * int   variables, clauses, literals, empty clauses, max occurrences, reserved
+ * int[] clauseStart[clauses + 1], literals[literals],
+ *       occurrenceStart[variables + 1], occurrences[literals]
+ * </pre>
+ *
+ * Files are read through memory mapped windows and bulk copied into the arrays of the index.
+ */
+public final class CompiledInstance {
+
+	private static final int MAGIC = 0x41494D43;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 40;
+
+	/**
+	 * The number of bytes mapped or written at a time.
+	 */
+	private static final int WINDOW_SIZE = 1 << 26;
+
+	private CompiledInstance() {
+	}
+
+	/**
+	 * Writes the index to a temporary file that is then moved into place, so concurrent
+	 * readers never see a partially written file.
+	 *
+	 * @param index The index to write.
+	 * @param path The compiled instance file.
+	 * @param sourceStamp Identifies the source of the index, checked by {@link #read(Path, long)}.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static void write(ClauseIndex index, Path path, long sourceStamp) throws IOException {
+
+		Path directory = path.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(MAGIC).putInt(VERSION).putLong(sourceStamp)
+						.putInt(index.getNumberOfVariables()).putInt(index.getNumberOfClauses())
+						.putInt(index.getNumberOfLiterals()).putInt(index.emptyClauses)
+						.putInt(index.getMaxOccurrences()).putInt(0);
+				header.flip();
+				writeFully(channel, header);
+
+				ByteBuffer buffer = ByteBuffer.allocateDirect(WINDOW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				for (int[] array : new int[][] { index.clauseStart, index.literals, index.occurrenceStart,
+						index.occurrences }) {
+					writeInts(channel, buffer, array);
+				}
+			}
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * @param path The compiled instance file.
+	 * @param sourceStamp The stamp the file must have been written with.
+	 * @return The index, or null if the file does not exist or was compiled from a different
+	 *         source or by a different version of this class.
+	 * @throws IOException If the file cannot be read or is truncated.
+	 */
+	public static ClauseIndex read(Path path, long sourceStamp) throws IOException {
+
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				return null;
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+					.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != sourceStamp) {
+				return null;
+			}
+			int variables = header.getInt();
+			int clauses = header.getInt();
+			int literals = header.getInt();
+			int emptyClauses = header.getInt();
+			int maxOccurrences = header.getInt();
+
+			long expected = HEADER_SIZE + 4L * ((clauses + 1L) + literals + (variables + 1L) + literals);
+			if (channel.size() != expected) {
+				throw new IOException("Compiled instance " + path + " has " + channel.size()
+						+ " bytes but its header describes " + expected);
+			}
+
+			long position = HEADER_SIZE;
+			int[] clauseStart = readInts(channel, position, clauses + 1);
+			position += 4L * clauseStart.length;
+			int[] literalArray = readInts(channel, position, literals);
+			position += 4L * literals;
+			int[] occurrenceStart = readInts(channel, position, variables + 1);
+			position += 4L * occurrenceStart.length;
+			int[] occurrences = readInts(channel, position, literals);
+
+			return new ClauseIndex(variables, clauseStart, literalArray, occurrenceStart, occurrences,
+					emptyClauses, maxOccurrences);
+		}
+	}
+
+	private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+
+		int[] values = new int[count];
+		int read = 0;
+		while (read < count) {
+			int n = Math.min(count - read, WINDOW_SIZE / 4);
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * read, 4L * n);
+			IntBuffer ints = window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+			ints.get(values, read, n);
+			read += n;
+		}
+		return values;
+	}
+
+	private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+
+		int written = 0;
+		while (written < values.length) {
+			int n = Math.min(values.length - written, buffer.capacity() / 4);
+			buffer.clear();
+			buffer.asIntBuffer().put(values, written, n);
+			buffer.limit(4 * n);
+			writeFully(channel, buffer);
+			written += n;
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
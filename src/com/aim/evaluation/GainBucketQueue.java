@@ -0,0 +1,139 @@
+package com.aim.evaluation;
+
+import java.util.Arrays;
+
+/**
+ * A bucket priority queue of variables keyed by their integer gain.
+ *
+ * Gains are bounded by the maximum number of occurrences of any variable, so every
+ * possible gain has its own bucket holding an intrusive doubly linked list of variables.
+ * Moving a variable to another bucket is O(1) and the best bucket is found from a
+ * cached upper bound that only moves down past empty buckets, so lookups are amortised O(1).
+ */
+public final class GainBucketQueue {
+
+	private static final int NONE = -1;
+
+	/**
+	 * Gain value stored in bucket 0.
+	 */
+	private final int minGain;
+
+	private final int[] head;
+
+	private final int[] next;
+
+	private final int[] prev;
+
+	private final int[] bucketOf;
+
+	/**
+	 * No bucket above this one holds a variable.
+	 */
+	private int topBucket;
+
+	/**
+	 * @param variables The number of variables to hold.
+	 * @param maxAbsoluteGain The bound on the absolute gain of any variable.
+	 */
+	public GainBucketQueue(int variables, int maxAbsoluteGain) {
+
+		this.minGain = -maxAbsoluteGain;
+		this.head = new int[2 * maxAbsoluteGain + 1];
+		this.next = new int[variables];
+		this.prev = new int[variables];
+		this.bucketOf = new int[variables];
+		clear();
+	}
+
+	/**
+	 * Removes all variables from the queue.
+	 */
+	public void clear() {
+
+		Arrays.fill(head, NONE);
+		Arrays.fill(bucketOf, NONE);
+		topBucket = 0;
+	}
+
+	/**
+	 * Inserts the variable or moves it to the bucket of its new gain.
+	 *
+	 * @param variable The variable.
+	 * @param gain The current gain of the variable.
+	 */
+	public void update(int variable, int gain) {
+
+		int bucket = gain - minGain;
+		int current = bucketOf[variable];
+		if (current == bucket) {
+			return;
+		}
+
+		if (current != NONE) {
+			unlink(variable, current);
+		}
+
+		int first = head[bucket];
+		next[variable] = first;
+		prev[variable] = NONE;
+		if (first != NONE) {
+			prev[first] = variable;
+		}
+		head[bucket] = variable;
+		bucketOf[variable] = bucket;
+
+		if (bucket > topBucket) {
+			topBucket = bucket;
+		}
+	}
+
+	/**
+	 * @return A variable with the largest gain, or -1 if the queue is empty.
+	 */
+	public int peekBest() {
+
+		while (topBucket > 0 && head[topBucket] == NONE) {
+			topBucket--;
+		}
+		return head[topBucket];
+	}
+
+	/**
+	 * @return The largest gain of any variable in the queue, undefined if the queue is empty.
+	 */
+	public int getBestGain() {
+
+		peekBest();
+		return topBucket + minGain;
+	}
+
+	/**
+	 * @param gain The lower bound (inclusive) on the gain.
+	 * @return A variable with the smallest gain that is at least <code>gain</code>, or -1 if there is none.
+	 */
+	public int peekLeastAtLeast(int gain) {
+
+		int top = head.length - 1;
+		for (int bucket = Math.max(0, gain - minGain); bucket <= top; bucket++) {
+			if (head[bucket] != NONE) {
+				return head[bucket];
+			}
+		}
+		return NONE;
+	}
+
+	private void unlink(int variable, int bucket) {
+
+		int before = prev[variable];
+		int after = next[variable];
+		if (before != NONE) {
+			next[before] = after;
+		} else {
+			head[bucket] = after;
+		}
+		if (after != NONE) {
+			prev[after] = before;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.aim.evaluation;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IncrementalEvaluator} that additionally maintains the make and break
+ * count of every variable.
+ *
+ * make[v] is the number of unsatisfied clauses that flipping v would satisfy and
+ * break[v] is the number of clauses in which v holds the only true literal, so
+ * flipping v changes the objective by <code>break[v] - make[v]</code>. After a flip
+ * only the variables sharing a clause with the flipped one are updated, which lets
+ * descent heuristics pick the best move by reading the gains instead of trial flips.
+ */
+public class GainTable extends IncrementalEvaluator {
+
+	protected final int[] make;
+
+	protected final int[] breaks;
+
+	public GainTable(ClauseIndex index) {
+
+		super(index);
+		this.make = new int[index.getNumberOfVariables()];
+		this.breaks = new int[index.getNumberOfVariables()];
+	}
+
+	@Override
+	public void load(boolean[] values) {
+
+		super.load(values);
+
+		Arrays.fill(make, 0);
+		Arrays.fill(breaks, 0);
+
+		int[] clauseStart = index.clauseStart;
+		int[] literals = index.literals;
+		for (int c = 0; c < trueCount.length; c++) {
+			if (trueCount[c] == 0) {
+				for (int p = clauseStart[c]; p < clauseStart[c + 1]; p++) {
+					make[literals[p] >>> 1]++;
+				}
+			} else if (trueCount[c] == 1) {
+				breaks[findTrueVariable(c)]++;
+			}
+		}
+	}
+
+	/**
+	 * @return The change in the number of unsatisfied clauses if <code>variable</code> was flipped.
+	 */
+	@Override
+	public int getDelta(int variable) {
+
+		countEvaluations(1);
+		return breaks[variable] - make[variable];
+	}
+
+	/**
+	 * @return The reduction in the number of unsatisfied clauses if <code>variable</code> was flipped.
+	 */
+	public int getGain(int variable) {
+		return make[variable] - breaks[variable];
+	}
+
+	@Override
+	public void flip(int variable) {
+
+		unbind();
+		int[] occurrences = index.occurrences;
+		int[] clauseStart = index.clauseStart;
+		int[] literals = index.literals;
+
+		boolean wasTrue = assignment[variable];
+		assignment[variable] = !wasTrue;
+
+		for (int p = index.occurrenceStart[variable]; p < index.occurrenceStart[variable + 1]; p++) {
+			int occurrence = occurrences[p];
+			int clause = occurrence >>> 1;
+
+			if (wasTrue != ((occurrence & 1) == 1)) {
+				// the literal becomes false
+				int count = --trueCount[clause];
+				if (count == 0) {
+					// clause becomes unsatisfied, every variable in it now makes it
+					unsatisfied++;
+					breaks[variable]--;
+					gainChanged(variable);
+					for (int q = clauseStart[clause]; q < clauseStart[clause + 1]; q++) {
+						int other = literals[q] >>> 1;
+						make[other]++;
+						gainChanged(other);
+					}
+				} else if (count == 1) {
+					// the remaining true literal becomes critical
+					int critical = findTrueVariable(clause);
+					breaks[critical]++;
+					gainChanged(critical);
+				}
+			} else {
+				// the literal becomes true
+				int count = trueCount[clause]++;
+				if (count == 0) {
+					// clause becomes satisfied with the flipped variable as its only true literal
+					unsatisfied--;
+					for (int q = clauseStart[clause]; q < clauseStart[clause + 1]; q++) {
+						int other = literals[q] >>> 1;
+						make[other]--;
+						gainChanged(other);
+					}
+					breaks[variable]++;
+					gainChanged(variable);
+				} else if (count == 1) {
+					// the previously critical literal is no longer the only true one
+					int critical = findTrueVariableOtherThan(clause, variable);
+					breaks[critical]--;
+					gainChanged(critical);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Called whenever the make or break count of a variable changes during a flip.
+	 *
+	 * @param variable The variable whose gain changed.
+	 */
+	protected void gainChanged(int variable) {
+	}
+
+	private int findTrueVariable(int clause) {
+		return findTrueVariableOtherThan(clause, -1);
+	}
+
+	private int findTrueVariableOtherThan(int clause, int excluded) {
+
+		int[] literals = index.literals;
+		for (int q = index.clauseStart[clause]; q < index.clauseStart[clause + 1]; q++) {
+			int literal = literals[q];
+			int variable = literal >>> 1;
+			if (variable != excluded && assignment[variable] != ((literal & 1) == 1)) {
+				return variable;
+			}
+		}
+
+		throw new IllegalStateException("Clause " + clause + " has no true literal");
+	}
+}
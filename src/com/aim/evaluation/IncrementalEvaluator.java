@@ -0,0 +1,304 @@
+package com.aim.evaluation;
+
+import com.aim.InstrumentedSAT;
+import com.aim.TrialMetrics;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+/**
+ * Maintains the number of unsatisfied clauses of an assignment incrementally.
+ *
+ * For every clause the number of currently true literals is kept so that the
+ * objective delta of flipping variable v can be computed in O(occurrences of v)
+ * rather than re-scanning the whole formula as {@link SAT#getObjectiveFunctionValue(int)} does.
+ *
+ * The evaluator holds its own copy of the assignment; heuristics keep it in step with
+ * the framework's solution memory by calling {@link #synchronise(SAT, int)} before use and
+ * by applying every accepted flip through {@link #flip(SAT, int, int)}, which flips both.
+ * On an {@link InstrumentedSAT} the evaluator stays bound to the slot it last read or wrote
+ * until the {@link InstrumentedSAT#getSolutionVersion(int) version} of the slot changes, so
+ * synchronising with a solution only the evaluator's own flips have changed costs nothing;
+ * otherwise the solution is read back, which for the framework's problem means parsing
+ * {@link SAT#getSolutionAsString(int)}.
+ *
+ * Every objective value of a neighbouring solution the evaluator gives out counts as one
+ * objective function evaluation, as if the neighbour had been flipped into the problem and
+ * evaluated. The count is kept in a plain field and added to the {@link TrialMetrics} of the
+ * problem last synchronised with by {@link #reportEvaluations()}, which synchronising and
+ * writing back also do, so that evaluation budgets cover incremental searches.
+ */
+public class IncrementalEvaluator {
+
+	/**
+	 * Synchronising rebuilds all counters when more than 1 / REBUILD_FRACTION of the variables differ.
+	 */
+	private static final int REBUILD_FRACTION = 4;
+
+	protected final ClauseIndex index;
+
+	protected final boolean[] assignment;
+
+	/**
+	 * Number of true literals in each clause under the current assignment.
+	 */
+	protected final int[] trueCount;
+
+	protected int unsatisfied;
+
+	private final boolean[] buffer;
+
+	private boolean loaded = false;
+
+	/**
+	 * The problem whose solution in {@link #boundMemoryIndex} equals the assignment as long as
+	 * its version is {@link #boundVersion}, or null.
+	 */
+	private InstrumentedSAT boundProblem;
+
+	private int boundMemoryIndex;
+
+	private long boundVersion;
+
+	/**
+	 * The metrics of the problem last synchronised with, or null if it is not instrumented.
+	 */
+	private TrialMetrics metrics;
+
+	/**
+	 * Evaluations not yet reported to {@link #metrics}.
+	 */
+	private long evaluations = 0;
+
+	public IncrementalEvaluator(ClauseIndex index) {
+
+		this.index = index;
+		this.assignment = new boolean[index.getNumberOfVariables()];
+		this.buffer = new boolean[index.getNumberOfVariables()];
+		this.trueCount = new int[index.getNumberOfClauses()];
+	}
+
+	/**
+	 * Brings the evaluator in line with the solution held in the given memory index.
+	 * The first call rebuilds all counters; later calls only flip the variables that differ
+	 * from the assignment the evaluator currently holds unless a large fraction of them differ.
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param memoryIndex The solution memory index to read.
+	 */
+	public void synchronise(SAT problem, int memoryIndex) {
+
+		reportEvaluations();
+		metrics = TrialMetrics.of(problem);
+		if (isBoundTo(problem, memoryIndex)) {
+			return;
+		}
+
+		ProblemAccess.readAssignment(problem, memoryIndex, buffer);
+		if (!loaded) {
+			load(buffer);
+			bind(problem, memoryIndex);
+			return;
+		}
+
+		int differences = 0;
+		for (int v = 0; v < buffer.length; v++) {
+			if (buffer[v] != assignment[v]) {
+				differences++;
+			}
+		}
+
+		// e.g. switching between unrelated individuals, rebuilding is cheaper than many flips
+		if (differences > buffer.length / REBUILD_FRACTION) {
+			load(buffer);
+		} else {
+			for (int v = 0; v < buffer.length && differences > 0; v++) {
+				if (buffer[v] != assignment[v]) {
+					flip(v);
+					differences--;
+				}
+			}
+		}
+		bind(problem, memoryIndex);
+	}
+
+	/**
+	 * Writes the assignment the evaluator holds into the given memory index, flipping only
+	 * the variables that differ from what the problem currently holds.
+	 *
+	 * @param problem The problem to write to.
+	 * @param memoryIndex The solution memory index to overwrite.
+	 */
+	public void writeTo(SAT problem, int memoryIndex) {
+
+		reportEvaluations();
+		if (!isBoundTo(problem, memoryIndex)) {
+			ProblemAccess.readAssignment(problem, memoryIndex, buffer);
+			for (int v = 0; v < buffer.length; v++) {
+				if (buffer[v] != assignment[v]) {
+					problem.bitFlip(v, memoryIndex);
+				}
+			}
+		}
+		bind(problem, memoryIndex);
+	}
+
+	/**
+	 * Replaces the assignment and rebuilds all clause counters from scratch.
+	 *
+	 * @param values The new value of each variable.
+	 */
+	public void load(boolean[] values) {
+
+		unbind();
+		System.arraycopy(values, 0, assignment, 0, assignment.length);
+
+		int[] clauseStart = index.clauseStart;
+		int[] literals = index.literals;
+		unsatisfied = index.emptyClauses;
+		for (int c = 0; c < trueCount.length; c++) {
+			int count = 0;
+			for (int p = clauseStart[c]; p < clauseStart[c + 1]; p++) {
+				int literal = literals[p];
+				if (assignment[literal >>> 1] != ((literal & 1) == 1)) {
+					count++;
+				}
+			}
+			trueCount[c] = count;
+			if (count == 0) {
+				unsatisfied++;
+			}
+		}
+
+		loaded = true;
+	}
+
+	/**
+	 * @param variable The variable to (hypothetically) flip.
+	 * @return The change in the number of unsatisfied clauses if <code>variable</code> was flipped.
+	 */
+	public int getDelta(int variable) {
+
+		evaluations++;
+		int[] occurrences = index.occurrences;
+		boolean value = assignment[variable];
+		int delta = 0;
+		for (int p = index.occurrenceStart[variable]; p < index.occurrenceStart[variable + 1]; p++) {
+			int occurrence = occurrences[p];
+			int count = trueCount[occurrence >>> 1];
+			if (value != ((occurrence & 1) == 1)) {
+				// literal is currently true, flipping breaks the clause if it is the only true literal
+				if (count == 1) {
+					delta++;
+				}
+			} else if (count == 0) {
+				// literal is currently false, flipping makes the unsatisfied clause true
+				delta--;
+			}
+		}
+
+		return delta;
+	}
+
+	/**
+	 * Flips the variable in both the evaluator and a solution of the problem, keeping the
+	 * evaluator bound to the solution if it was.
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param memoryIndex The solution memory index to flip the variable in.
+	 * @param variable The variable to flip.
+	 */
+	public void flip(SAT problem, int memoryIndex, int variable) {
+
+		boolean bound = isBoundTo(problem, memoryIndex);
+		flip(variable);
+		problem.bitFlip(variable, memoryIndex);
+		if (bound) {
+			bind(problem, memoryIndex);
+		}
+	}
+
+	/**
+	 * Flips the variable in the evaluator only and updates the clause counters.
+	 *
+	 * @param variable The variable to flip.
+	 */
+	public void flip(int variable) {
+
+		unbind();
+		int[] occurrences = index.occurrences;
+		boolean value = assignment[variable];
+		for (int p = index.occurrenceStart[variable]; p < index.occurrenceStart[variable + 1]; p++) {
+			int occurrence = occurrences[p];
+			int clause = occurrence >>> 1;
+			if (value != ((occurrence & 1) == 1)) {
+				if (--trueCount[clause] == 0) {
+					unsatisfied++;
+				}
+			} else if (trueCount[clause]++ == 0) {
+				unsatisfied--;
+			}
+		}
+		assignment[variable] = !value;
+	}
+
+	/**
+	 * Adds the evaluations made since the last report to the metrics of the problem last
+	 * synchronised with. Heuristics that do not write back call this when they finish.
+	 */
+	public void reportEvaluations() {
+
+		if (metrics != null && evaluations > 0) {
+			metrics.recordEvaluations(evaluations);
+		}
+		evaluations = 0;
+	}
+
+	/**
+	 * Forgets the solution the evaluator is bound to; called whenever the assignment changes
+	 * other than through {@link #flip(SAT, int, int)}.
+	 */
+	protected void unbind() {
+		boundProblem = null;
+	}
+
+	private boolean isBoundTo(SAT problem, int memoryIndex) {
+		return problem == boundProblem && memoryIndex == boundMemoryIndex
+				&& boundProblem.getSolutionVersion(memoryIndex) == boundVersion;
+	}
+
+	private void bind(SAT problem, int memoryIndex) {
+
+		if (problem instanceof InstrumentedSAT instrumented) {
+			boundProblem = instrumented;
+			boundMemoryIndex = memoryIndex;
+			boundVersion = instrumented.getSolutionVersion(memoryIndex);
+		} else {
+			boundProblem = null;
+		}
+	}
+
+	/**
+	 * Counts evaluations of neighbouring solutions answered without calling {@link #getDelta(int)}.
+	 */
+	protected void countEvaluations(long count) {
+		evaluations += count;
+	}
+
+	/**
+	 * @return The number of unsatisfied clauses under the current assignment.
+	 */
+	public int getObjectiveValue() {
+		return unsatisfied;
+	}
+
+	public boolean getValue(int variable) {
+		return assignment[variable];
+	}
+
+	public int getNumberOfVariables() {
+		return assignment.length;
+	}
+
+	public ClauseIndex getClauseIndex() {
+		return index;
+	}
+}
@@ -0,0 +1,107 @@
+package com.aim.evaluation;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Arrays;
+
+/**
+ * Solution memory storing each individual as a packed <code>long[]</code> bitset,
+ * bit v of a solution being bit (v % 64) of word (v / 64).
+ *
+ * The framework's {@link SAT} remains the system of record: callers {@link #pull(SAT, int)}
+ * the individuals they need to keep or share and write them back with
+ * {@link #store(SAT, int, long[])}, which flips only the bits that changed. Copies within the
+ * memory are a single {@link System#arraycopy} of (n + 63) / 64 words.
+ */
+public final class PackedSolutionMemory {
+
+	private final int variables;
+
+	private final int words;
+
+	private long[][] solutions;
+
+	/**
+	 * @param variables The number of bits in each solution.
+	 * @param size The initial number of solution memory slots, grown on demand.
+	 */
+	public PackedSolutionMemory(int variables, int size) {
+
+		this.variables = variables;
+		this.words = (variables + 63) >>> 6;
+		this.solutions = new long[size][words];
+	}
+
+	/**
+	 * Reads the solution in <code>memoryIndex</code> of the problem into the same slot.
+	 */
+	public void pull(SAT problem, int memoryIndex) {
+		ensureCapacity(memoryIndex);
+		ProblemAccess.readAssignment(problem, memoryIndex, solutions[memoryIndex]);
+	}
+
+	/**
+	 * Reads the best solution found so far by the problem into the given slot.
+	 */
+	public void pullBest(SAT problem, int slot) {
+		ensureCapacity(slot);
+		ProblemAccess.readBestAssignment(problem, solutions[slot]);
+	}
+
+	/**
+	 * Writes a packed solution into the given memory index of the problem, flipping only
+	 * the bits that differ from what the problem currently holds, and into the same slot.
+	 *
+	 * @param problem The problem to write to.
+	 * @param memoryIndex The solution memory index to overwrite.
+	 * @param solution The packed solution to write.
+	 */
+	public void store(SAT problem, int memoryIndex, long[] solution) {
+
+		pull(problem, memoryIndex);
+		long[] target = solutions[memoryIndex];
+		for (int w = 0; w < words; w++) {
+			long diff = target[w] ^ solution[w];
+			target[w] = solution[w];
+			int base = w << 6;
+			while (diff != 0) {
+				problem.bitFlip(base + Long.numberOfTrailingZeros(diff), memoryIndex);
+				diff &= diff - 1;
+			}
+		}
+	}
+
+	/**
+	 * Copies one slot into another.
+	 */
+	public void copy(int from, int to) {
+		ensureCapacity(to);
+		System.arraycopy(solutions[from], 0, solutions[to], 0, words);
+	}
+
+	/**
+	 * @return The packed words of the solution in the given slot (not a copy).
+	 */
+	public long[] get(int memoryIndex) {
+		return solutions[memoryIndex];
+	}
+
+	public boolean getBit(int memoryIndex, int variable) {
+		return (solutions[memoryIndex][variable >>> 6] & (1L << variable)) != 0;
+	}
+
+	public int getNumberOfVariables() {
+		return variables;
+	}
+
+	private void ensureCapacity(int memoryIndex) {
+
+		if (memoryIndex >= solutions.length) {
+			long[][] grown = Arrays.copyOf(solutions, memoryIndex + 1);
+			for (int i = solutions.length; i < grown.length; i++) {
+				grown[i] = new long[words];
+			}
+			solutions = grown;
+		}
+	}
+}
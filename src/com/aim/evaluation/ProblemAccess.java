@@ -0,0 +1,131 @@
+package com.aim.evaluation;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Arrays;
+
+/**
+ * The single place where the in-project evaluation engine reads the formula and
+ * the solution memory of the framework's {@link SAT} problem. Solutions of a
+ * {@link ClauseIndexSAT} are copied from its packed words instead.
+ */
+final class ProblemAccess {
+
+	private ProblemAccess() {
+	}
+
+	/**
+	 * Reads the clauses of the loaded instance (DIMACS numbered literals) into a {@link ClauseIndex}.
+	 */
+	static ClauseIndex readClauseIndex(SAT problem) {
+
+		int clauses = problem.getNumberOfClauses();
+		int[][] clauseLiterals = new int[clauses][];
+		int[] clauseStart = new int[clauses + 1];
+		for (int c = 0; c < clauses; c++) {
+			clauseLiterals[c] = problem.getClause(c);
+			clauseStart[c + 1] = clauseStart[c] + clauseLiterals[c].length;
+		}
+
+		int[] literals = new int[clauseStart[clauses]];
+		for (int c = 0; c < clauses; c++) {
+			System.arraycopy(clauseLiterals[c], 0, literals, clauseStart[c], clauseLiterals[c].length);
+		}
+
+		return new ClauseIndex(problem.getNumberOfVariables(), clauseStart, literals);
+	}
+
+	/**
+	 * Reads the bit string of the solution in the given memory index.
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param memoryIndex The solution memory index to read.
+	 * @param assignment Output array of length {@link SAT#getNumberOfVariables()}.
+	 */
+	static void readAssignment(SAT problem, int memoryIndex, boolean[] assignment) {
+
+		if (problem instanceof ClauseIndexSAT indexed) {
+			long[] words = indexed.getPackedSolution(memoryIndex);
+			for (int v = 0; v < assignment.length; v++) {
+				assignment[v] = (words[v >>> 6] & (1L << v)) != 0;
+			}
+			return;
+		}
+
+		String solution = problem.getSolutionAsString(memoryIndex);
+		int variable = 0;
+		for (int i = 0; i < solution.length() && variable < assignment.length; i++) {
+			char bit = solution.charAt(i);
+			if (bit == '0' || bit == '1') {
+				assignment[variable++] = bit == '1';
+			}
+		}
+
+		checkLength(memoryIndex, variable, assignment.length);
+	}
+
+	/**
+	 * Reads the bit string of the solution in the given memory index into 64-bit words,
+	 * bit v of the solution being bit (v % 64) of word (v / 64).
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param memoryIndex The solution memory index to read.
+	 * @param words Output array of at least (variables + 63) / 64 words.
+	 */
+	static void readAssignment(SAT problem, int memoryIndex, long[] words) {
+
+		if (problem instanceof ClauseIndexSAT indexed) {
+			long[] solution = indexed.getPackedSolution(memoryIndex);
+			System.arraycopy(solution, 0, words, 0, solution.length);
+			return;
+		}
+
+		int variables = problem.getNumberOfVariables();
+		int bits = parseWords(problem.getSolutionAsString(memoryIndex), variables, words);
+		checkLength(memoryIndex, bits, variables);
+	}
+
+	/**
+	 * Reads the bit string of the best solution found so far into 64-bit words, packed as
+	 * by {@link #readAssignment(SAT, int, long[])}.
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param words Output array of at least (variables + 63) / 64 words.
+	 */
+	static void readBestAssignment(SAT problem, long[] words) {
+
+		int variables = problem.getNumberOfVariables();
+		int bits = parseWords(problem.getBestSolutionAsString(), variables, words);
+		if (bits != variables) {
+			throw new IllegalStateException("The best solution has " + bits
+					+ " bits but the problem has " + variables + " variables");
+		}
+	}
+
+	/**
+	 * @return The number of bits read.
+	 */
+	private static int parseWords(String solution, int variables, long[] words) {
+
+		Arrays.fill(words, 0L);
+		int variable = 0;
+		for (int i = 0; i < solution.length() && variable < variables; i++) {
+			char bit = solution.charAt(i);
+			if (bit == '0' || bit == '1') {
+				if (bit == '1') {
+					words[variable >>> 6] |= 1L << variable;
+				}
+				variable++;
+			}
+		}
+		return variable;
+	}
+
+	private static void checkLength(int memoryIndex, int bits, int variables) {
+
+		if (bits != variables) {
+			throw new IllegalStateException("Solution " + memoryIndex + " has " + bits
+					+ " bits but the problem has " + variables + " variables");
+		}
+	}
+}
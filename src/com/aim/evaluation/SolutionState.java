@@ -0,0 +1,124 @@
+package com.aim.evaluation;
+
+import java.util.Random;
+
+/**
+ * The mutable state of one solution memory slot of a {@link ClauseIndexSAT}: the packed
+ * assignment and, once the solution has been evaluated, the number of true literals of each
+ * clause, so that later flips update the objective value in O(occurrences of the variable).
+ *
+ * Counters are bytes, a quarter of the footprint of the ints of {@link IncrementalEvaluator},
+ * and are only allocated for slots that are evaluated. Formulas with clauses of more than
+ * {@link Byte#MAX_VALUE} literals are evaluated by scanning every clause instead.
+ */
+final class SolutionState {
+
+	private final ClauseIndex index;
+
+	/**
+	 * Bit v is bit (v % 64) of word (v / 64).
+	 */
+	final long[] bits;
+
+	private final boolean countable;
+
+	private byte[] trueCount;
+
+	private boolean counted = false;
+
+	private int unsatisfied;
+
+	SolutionState(ClauseIndex index) {
+
+		this.index = index;
+		this.bits = new long[(index.getNumberOfVariables() + 63) >>> 6];
+		this.countable = index.getMaxClauseLength() <= Byte.MAX_VALUE;
+	}
+
+	/**
+	 * @return The number of unsatisfied clauses, counting them on the first call after the
+	 *         assignment was replaced.
+	 */
+	int evaluate() {
+
+		if (counted) {
+			return unsatisfied;
+		}
+		if (!countable) {
+			return index.countUnsatisfied(bits);
+		}
+
+		if (trueCount == null) {
+			trueCount = new byte[index.getNumberOfClauses()];
+		}
+		int[] clauseStart = index.clauseStart;
+		int[] literals = index.literals;
+		int unsatisfiedClauses = index.emptyClauses;
+		for (int c = 0; c < trueCount.length; c++) {
+			int count = 0;
+			for (int p = clauseStart[c]; p < clauseStart[c + 1]; p++) {
+				int literal = literals[p];
+				int variable = literal >>> 1;
+				if ((int) ((bits[variable >>> 6] >>> variable) & 1) != (literal & 1)) {
+					count++;
+				}
+			}
+			trueCount[c] = (byte) count;
+			if (count == 0) {
+				unsatisfiedClauses++;
+			}
+		}
+		unsatisfied = unsatisfiedClauses;
+		counted = true;
+		return unsatisfied;
+	}
+
+	void flip(int variable) {
+
+		long mask = 1L << variable;
+		int word = variable >>> 6;
+		boolean value = (bits[word] & mask) != 0;
+		bits[word] ^= mask;
+		if (!counted) {
+			return;
+		}
+
+		int[] occurrences = index.occurrences;
+		for (int p = index.occurrenceStart[variable]; p < index.occurrenceStart[variable + 1]; p++) {
+			int occurrence = occurrences[p];
+			int clause = occurrence >>> 1;
+			if (value != ((occurrence & 1) == 1)) {
+				if (--trueCount[clause] == 0) {
+					unsatisfied++;
+				}
+			} else if (trueCount[clause]++ == 0) {
+				unsatisfied--;
+			}
+		}
+	}
+
+	void copyFrom(SolutionState other) {
+
+		System.arraycopy(other.bits, 0, bits, 0, bits.length);
+		if (other.counted) {
+			if (trueCount == null) {
+				trueCount = new byte[other.trueCount.length];
+			}
+			System.arraycopy(other.trueCount, 0, trueCount, 0, trueCount.length);
+			unsatisfied = other.unsatisfied;
+		}
+		counted = other.counted;
+	}
+
+	void randomise(Random random) {
+
+		for (int w = 0; w < bits.length; w++) {
+			bits[w] = random.nextLong();
+		}
+		int variables = index.getNumberOfVariables();
+		if ((variables & 63) != 0) {
+			bits[bits.length - 1] &= (1L << variables) - 1;
+		}
+		counted = false;
+	}
+}
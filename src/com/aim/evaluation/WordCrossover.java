@@ -0,0 +1,73 @@
+package com.aim.evaluation;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Random;
+
+/**
+ * Crossover of two offspring held by a {@link SAT} problem, deciding which bits to exchange
+ * 64 at a time rather than one random number per bit.
+ *
+ * The offspring are exchanged in place through {@link SAT#exchangeBits(int, int, int)}, so
+ * nothing is read back from the problem. A {@link ClauseIndexSAT} exchanges whole words and
+ * only touches the bits that actually differ between the offspring.
+ */
+public final class WordCrossover {
+
+	private WordCrossover() {
+	}
+
+	/**
+	 * Uniform crossover, each bit being exchanged with probability 0.5.
+	 *
+	 * @param problem The problem holding the offspring.
+	 * @param child1 The memory index of the first offspring.
+	 * @param child2 The memory index of the second offspring.
+	 * @param random The random number generator, one nextLong() is drawn per 64 variables.
+	 */
+	public static void uniform(SAT problem, int child1, int child2, Random random) {
+
+		int variables = problem.getNumberOfVariables();
+		int words = (variables + 63) >>> 6;
+		for (int w = 0; w < words; w++) {
+			long mask = random.nextLong();
+			if (w == words - 1 && (variables & 63) != 0) {
+				mask &= (1L << variables) - 1;
+			}
+			exchange(problem, child1, child2, w, mask);
+		}
+	}
+
+	/**
+	 * One point crossover, exchanging bits [0, point) between the offspring.
+	 *
+	 * @param problem The problem holding the offspring.
+	 * @param child1 The memory index of the first offspring.
+	 * @param child2 The memory index of the second offspring.
+	 * @param point The crossover point.
+	 */
+	public static void onePoint(SAT problem, int child1, int child2, int point) {
+
+		int fullWords = point >>> 6;
+		for (int w = 0; w < fullWords; w++) {
+			exchange(problem, child1, child2, w, -1L);
+		}
+		if ((point & 63) != 0) {
+			exchange(problem, child1, child2, fullWords, (1L << point) - 1);
+		}
+	}
+
+	private static void exchange(SAT problem, int child1, int child2, int word, long mask) {
+
+		if (problem instanceof ClauseIndexSAT indexed) {
+			indexed.exchangeWord(child1, child2, word, mask);
+			return;
+		}
+
+		int base = word << 6;
+		while (mask != 0) {
+			problem.exchangeBits(child1, child2, base + Long.numberOfTrailingZeros(mask));
+			mask &= mask - 1;
+		}
+	}
+}
@@ -1,11 +1,20 @@
 package com.aim.heuristics;
 
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.IncrementalEvaluator;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 
 import java.util.Random;
 
 public class DavissBitHC extends SATHeuristic {
+
+    /**
+     * Incremental evaluator of the problem this heuristic was last applied to.
+     */
+    private IncrementalEvaluator evaluator;
+
+    private SAT evaluatorProblem;
     
     public DavissBitHC(Random random) {
         super(random);
@@ -28,30 +37,35 @@ public class DavissBitHC extends SATHeuristic {
      *     }
      * }
      *
+     * Rather than flipping, re-evaluating the whole formula and flipping back,
+     * each candidate flip is scored by its objective delta which only visits the
+     * clauses containing the flipped variable. Only accepted flips touch the problem.
+     *
      * @param problem The problem to be solved.
      */
     public void applyHeuristic(SAT problem) {
-        // evaluate the current solution
-        double bestEval = problem.getObjectiveFunctionValue
-                (SATHeuristic.CURRENT_SOLUTION_INDEX);
+        IncrementalEvaluator evaluator = getEvaluator(problem);
+        evaluator.synchronise(problem, SATHeuristic.CURRENT_SOLUTION_INDEX);
+
         int length = problem.getNumberOfVariables();
         int[] perm = createRandomPermutation(length);
 
         for(int i = 0; i < length; i++) {
-            // flips i^th bit from permutation of solution
-            problem.bitFlip(perm[i], SATHeuristic.CURRENT_SOLUTION_INDEX);
-            // evaluate the modified solution
-            double tmpEval = problem.getObjectiveFunctionValue
-                    (SATHeuristic.CURRENT_SOLUTION_INDEX);
-
             // compare and accept only improving moves
-            if (tmpEval < bestEval) {
-                bestEval = tmpEval;
-            } else {
-                // go back
-                problem.bitFlip(perm[i], SATHeuristic.CURRENT_SOLUTION_INDEX);
+            if (evaluator.getDelta(perm[i]) < 0) {
+                // flips i^th bit from permutation of solution
+                evaluator.flip(problem, SATHeuristic.CURRENT_SOLUTION_INDEX, perm[i]);
             }
         }
+        evaluator.reportEvaluations();
+    }
+
+    private IncrementalEvaluator getEvaluator(SAT problem) {
+        if (evaluatorProblem != problem) {
+            evaluator = new IncrementalEvaluator(ClauseIndex.of(problem));
+            evaluatorProblem = problem;
+        }
+        return evaluator;
     }
 
     public int[] createRandomPermutation(int n) {
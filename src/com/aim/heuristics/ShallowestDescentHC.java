@@ -1,11 +1,21 @@
 package com.aim.heuristics;
 
+import com.aim.evaluation.BucketedGainTable;
+import com.aim.evaluation.ClauseIndex;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 
 import java.util.Random;
 
 public class ShallowestDescentHC extends SATHeuristic {
+
+	/**
+	 * Make/break gains of the problem this heuristic was last applied to.
+	 */
+	private BucketedGainTable gains;
+
+	private SAT gainsProblem;
+
 	public ShallowestDescentHC(Random random) {
 		super(random);
 	}
@@ -15,37 +25,28 @@ public class ShallowestDescentHC extends SATHeuristic {
 	  * but the difference here is that we want to flip the bit that
 	  * results in the least improvement (note this does not include
 	  * no improvement).
+	  *
+	  * The least improving flip is looked up in the incrementally maintained gain buckets.
 	  */
 	public void applyHeuristic(SAT problem) {
-		// evaluate the current solution
-		double bestEval = problem.getObjectiveFunctionValue
-				(SATHeuristic.CURRENT_SOLUTION_INDEX);
-		boolean improved = false;
-		int leastIndex = 0;
-		double minImprovement = Double.MAX_VALUE;
-
-		for (int i = 0; i < problem.getNumberOfVariables(); i++) {
-			// flips i^th bit of current solution
-			problem.bitFlip(i, SATHeuristic.CURRENT_SOLUTION_INDEX);
-			// evaluate the modified solution
-			double tmpEval = problem.getObjectiveFunctionValue(SATHeuristic.CURRENT_SOLUTION_INDEX);
-
-			// Calculate improvement value
-			double improvement = bestEval - tmpEval;
-			if ((improvement < minImprovement) && (improvement > 0)) {
-				// record solution with the least improvement and its index
-				leastIndex = i;
-				minImprovement = improvement;
-				improved = true;
-			}
-			// go back to the initial current solution
-			problem.bitFlip(i, SATHeuristic.CURRENT_SOLUTION_INDEX);
-		}
+		BucketedGainTable gains = getGains(problem);
+		gains.synchronise(problem, SATHeuristic.CURRENT_SOLUTION_INDEX);
 
-		if (improved) {
+		int leastIndex = gains.getLeastImprovingVariable();
+
+		if (leastIndex != -1) {
 			// flip the bit that results in the least improvement
-			problem.bitFlip(leastIndex, SATHeuristic.CURRENT_SOLUTION_INDEX);
+			gains.flip(problem, SATHeuristic.CURRENT_SOLUTION_INDEX, leastIndex);
+		}
+		gains.reportEvaluations();
+	}
+
+	private BucketedGainTable getGains(SAT problem) {
+		if (gainsProblem != problem) {
+			gains = new BucketedGainTable(ClauseIndex.of(problem));
+			gainsProblem = problem;
 		}
+		return gains;
 	}
 
 	public String getHeuristicName() {
@@ -1,11 +1,21 @@
 package com.aim.heuristics;
 
+import com.aim.evaluation.BucketedGainTable;
+import com.aim.evaluation.ClauseIndex;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 
 import java.util.Random;
 
 public class SteepestDescentHC extends SATHeuristic {
+
+	/**
+	 * Make/break gains of the problem this heuristic was last applied to.
+	 */
+	private BucketedGainTable gains;
+
+	private SAT gainsProblem;
+
 	public SteepestDescentHC(Random random) {
 		super(random);
 	}
@@ -31,36 +41,31 @@ public class SteepestDescentHC extends SATHeuristic {
 	  *
 	  * if(improved) { bitFlip(currentSolution, bestIndex); }
 	  *
+	  * The gain (make - break) of every variable is maintained incrementally in a bucket
+	  * queue, so the best flip is looked up instead of n trial flips and evaluations.
+	  * Among equally good flips the queue decides which bit is flipped.
+	  *
 	  * @param problem The problem to be solved.
 	  */
 	public void applyHeuristic(SAT problem) {
-		// evaluate the current solution
-		double bestEval = problem.getObjectiveFunctionValue
-				(SATHeuristic.CURRENT_SOLUTION_INDEX);
-		boolean improved = false;
-		int bestIndex = 0;
+		BucketedGainTable gains = getGains(problem);
+		gains.synchronise(problem, SATHeuristic.CURRENT_SOLUTION_INDEX);
 
-		for(int i = 0; i < problem.getNumberOfVariables(); i++) {
-			// flips i^th bit of current solution
-			problem.bitFlip(i, SATHeuristic.CURRENT_SOLUTION_INDEX);
-			// evaluate the modified solution
-			double tmpEval = problem.getObjectiveFunctionValue
-					(SATHeuristic.CURRENT_SOLUTION_INDEX);
+		// the bit which yields the largest strict improvement
+		int bestIndex = gains.getBestGain() > 0 ? gains.getBestVariable() : -1;
 
-			// compare and accept only improving moves
-			if (tmpEval < bestEval) {
-				// record best achievable solution objective value
-				bestIndex = i;
-	            bestEval = tmpEval;
-	            improved = true;
-			}
-			// go back to the initial current solution
-			problem.bitFlip(i, SATHeuristic.CURRENT_SOLUTION_INDEX);
+		if(bestIndex != -1) {
+			gains.flip(problem, SATHeuristic.CURRENT_SOLUTION_INDEX, bestIndex);
 		}
+		gains.reportEvaluations();
+	}
 
-		if(improved) {
-			problem.bitFlip(bestIndex, SATHeuristic.CURRENT_SOLUTION_INDEX);
+	private BucketedGainTable getGains(SAT problem) {
+		if (gainsProblem != problem) {
+			gains = new BucketedGainTable(ClauseIndex.of(problem));
+			gainsProblem = problem;
 		}
+		return gains;
 	}
 
 	public String getHeuristicName() {
@@ -0,0 +1,208 @@
+package com.aim.instances;
+
+import com.aim.evaluation.ClauseIndex;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a MAX-SAT instance in DIMACS CNF format into a {@link ClauseIndex}.
+ *
+ * The file is memory mapped in windows of {@link #WINDOW_SIZE} bytes and parsed a byte at a
+ * time by a state machine that carries over between windows, so no characters, strings or
+ * lines are created for the clauses. Comment lines ('c') are skipped, and a line starting
+ * with '%' ends the formula as in the SATLIB benchmark files. A final clause without its
+ * terminating 0 is accepted.
+ */
+public final class DimacsReader {
+
+	/**
+	 * The number of bytes mapped at a time.
+	 */
+	static final long WINDOW_SIZE = 1L << 28;
+
+	private enum State { LINE_START, COMMENT, HEADER, DATA, DONE }
+
+	private final Path path;
+
+	private State state = State.LINE_START;
+
+	private final StringBuilder header = new StringBuilder();
+
+	private int variables = -1;
+
+	private int[] clauseStart = new int[1];
+
+	private int clauses = 0;
+
+	private int[] literals = new int[0];
+
+	private int size = 0;
+
+	private int value = 0;
+
+	private boolean negative = false;
+
+	private boolean inNumber = false;
+
+	private DimacsReader(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * @param path The DIMACS CNF file.
+	 * @return The formula of the file.
+	 * @throws IOException If the file cannot be read or is not a DIMACS CNF file.
+	 */
+	public static ClauseIndex read(Path path) throws IOException {
+		return new DimacsReader(path).parse();
+	}
+
+	private ClauseIndex parse() throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long length = channel.size();
+			for (long position = 0; position < length && state != State.DONE; position += WINDOW_SIZE) {
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(WINDOW_SIZE, length - position));
+				while (window.hasRemaining() && state != State.DONE) {
+					accept(window.get());
+				}
+			}
+		}
+
+		// the file may end without a new line or the 0 of its last clause
+		accept((byte) '\n');
+		if (variables < 0) {
+			throw error("missing problem line 'p cnf <variables> <clauses>'");
+		}
+		if (size > clauseStart[clauses]) {
+			endClause();
+		}
+
+		return new ClauseIndex(variables, Arrays.copyOf(clauseStart, clauses + 1), Arrays.copyOf(literals, size));
+	}
+
+	private void accept(byte b) throws IOException {
+
+		if (state == State.LINE_START) {
+			switch (b) {
+				case 'c' -> state = State.COMMENT;
+				case 'p' -> state = State.HEADER;
+				case '%' -> state = State.DONE;
+				default -> state = State.DATA;
+			}
+			if (state != State.DATA) {
+				if (state == State.HEADER) {
+					header.append((char) b);
+				}
+				return;
+			}
+		}
+
+		switch (state) {
+			case COMMENT -> {
+				if (b == '\n') {
+					state = State.LINE_START;
+				}
+			}
+			case HEADER -> {
+				if (b == '\n') {
+					parseHeader();
+					state = State.LINE_START;
+				} else {
+					header.append((char) b);
+				}
+			}
+			case DATA -> {
+				if (b >= '0' && b <= '9') {
+					if (value > (Integer.MAX_VALUE - 9) / 10) {
+						throw error("literal out of range");
+					}
+					value = value * 10 + (b - '0');
+					inNumber = true;
+				} else if (b == '-' && !inNumber && !negative) {
+					negative = true;
+				} else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+					if (inNumber) {
+						literal(negative ? -value : value);
+					} else if (negative) {
+						throw error("'-' without a number");
+					}
+					value = 0;
+					negative = false;
+					inNumber = false;
+					if (b == '\n') {
+						state = State.LINE_START;
+					}
+				} else {
+					throw error("unexpected character '" + (char) b + "'");
+				}
+			}
+			default -> {
+			}
+		}
+	}
+
+	private void parseHeader() throws IOException {
+
+		String[] fields = header.toString().trim().split("\\s+");
+		header.setLength(0);
+		if (variables >= 0) {
+			throw error("more than one problem line");
+		}
+		if (fields.length != 4 || !fields[0].equals("p") || !fields[1].equals("cnf")) {
+			throw error("expected 'p cnf <variables> <clauses>' but found '" + String.join(" ", fields) + "'");
+		}
+
+		int expectedClauses;
+		try {
+			variables = Integer.parseInt(fields[2]);
+			expectedClauses = Integer.parseInt(fields[3]);
+		} catch (NumberFormatException e) {
+			throw error("invalid problem line '" + String.join(" ", fields) + "'");
+		}
+		if (variables < 0 || expectedClauses < 0) {
+			throw error("negative size in problem line");
+		}
+
+		// sized for 3-SAT, grown on demand
+		clauseStart = new int[expectedClauses + 1];
+		literals = new int[(int) Math.min(Integer.MAX_VALUE - 8, 3L * expectedClauses)];
+	}
+
+	private void literal(int literal) throws IOException {
+
+		if (variables < 0) {
+			throw error("clause before the problem line");
+		}
+		if (literal == 0) {
+			endClause();
+			return;
+		}
+		if (size == literals.length) {
+			literals = Arrays.copyOf(literals, grow(size));
+		}
+		literals[size++] = literal;
+	}
+
+	private void endClause() {
+
+		if (clauses + 1 == clauseStart.length) {
+			clauseStart = Arrays.copyOf(clauseStart, grow(clauseStart.length));
+		}
+		clauseStart[++clauses] = size;
+	}
+
+	private static int grow(int length) {
+		return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, length + (length >> 1)));
+	}
+
+	private IOException error(String message) {
+		return new IOException("Malformed DIMACS file " + path + ": " + message);
+	}
+}
@@ -0,0 +1,98 @@
+package com.aim.instances;
+
+import com.aim.ExperimentalSettings;
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.CompiledInstance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The formulas of the instances used in this JVM, each built or loaded once and shared by all
+ * trials, since a {@link ClauseIndex} is immutable.
+ *
+ * Unless {@link ExperimentalSettings#INSTANCE_CACHE} is empty, each formula is also compiled
+ * to a {@link CompiledInstance} file in that directory the first time it is built, and later
+ * runs load that file instead of parsing or re-indexing the instance. A compiled DIMACS file
+ * is stamped with the length and modification time of its source and rebuilt if either changes.
+ */
+public final class InstanceCache {
+
+	private static final String EXTENSION = ".aimc";
+
+	private static final Map<String, ClauseIndex> INSTANCES = new ConcurrentHashMap<>();
+
+	private InstanceCache() {
+	}
+
+	/**
+	 * @param dimacs A DIMACS CNF file.
+	 * @return The formula of the file.
+	 * @throws UncheckedIOException If the file cannot be read.
+	 */
+	public static ClauseIndex forFile(Path dimacs) {
+
+		Path source = dimacs.toAbsolutePath().normalize();
+		return INSTANCES.computeIfAbsent("file:" + source, key -> {
+			try {
+				long stamp = Files.size(source) * 31 + Files.getLastModifiedTime(source).toMillis();
+				String name = source.getFileName() + "-" + Integer.toHexString(source.toString().hashCode());
+				return load(name, stamp, () -> {
+					try {
+						return DimacsReader.read(source);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not read instance " + source, e);
+			}
+		});
+	}
+
+	/**
+	 * @param instanceId The ID of a bundled instance.
+	 * @param variables The number of variables of the instance.
+	 * @param clauses The number of clauses of the instance.
+	 * @param reader Builds the formula from a problem holding the instance.
+	 * @return The formula of the instance.
+	 */
+	public static ClauseIndex forBundledInstance(int instanceId, int variables, int clauses, Supplier<ClauseIndex> reader) {
+
+		// a change of framework version that alters the instance changes its size
+		long stamp = (long) variables << 32 | clauses;
+		return INSTANCES.computeIfAbsent("instance:" + instanceId + ":" + stamp,
+				key -> load("instance-" + instanceId, stamp, reader));
+	}
+
+	private static ClauseIndex load(String name, long stamp, Supplier<ClauseIndex> builder) {
+
+		if (ExperimentalSettings.INSTANCE_CACHE.isEmpty()) {
+			return builder.get();
+		}
+
+		Path compiled = Paths.get(ExperimentalSettings.INSTANCE_CACHE, name + EXTENSION);
+		try {
+			ClauseIndex index = CompiledInstance.read(compiled, stamp);
+			if (index != null) {
+				return index;
+			}
+		} catch (IOException e) {
+			System.err.println("Ignoring compiled instance " + compiled.toAbsolutePath() + ": " + e.getMessage());
+		}
+
+		ClauseIndex index = builder.get();
+		try {
+			CompiledInstance.write(index, compiled, stamp);
+		} catch (IOException e) {
+			System.err.println("Could not write compiled instance " + compiled.toAbsolutePath() + ": " + e.getMessage());
+		}
+		return index;
+	}
+}
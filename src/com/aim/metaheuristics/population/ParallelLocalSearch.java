@@ -0,0 +1,108 @@
+package com.aim.metaheuristics.population;
+
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.IncrementalEvaluator;
+import com.aim.profiling.LocalSearchPassEvent;
+import com.aim.random.RandomStreams;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Applies local search to all offspring of a generation concurrently.
+ *
+ * Each offspring is read into an evaluator private to it, improved by a
+ * {@link ThreadConfinedLocalSearch} on a worker of a dedicated {@link ForkJoinPool}, and
+ * written back afterwards, so the problem itself is only ever accessed by the calling thread.
+ * The random number generator of offspring k is seeded from (generation seed, k) alone, so
+ * results are the same for any number of threads.
+ *
+ * Operators that are not thread confined are applied sequentially on the calling thread.
+ */
+public class ParallelLocalSearch implements AutoCloseable {
+
+	private final ForkJoinPool pool;
+
+	private ClauseIndex index;
+
+	private SAT indexProblem;
+
+	/**
+	 * Evaluators of each operator, one per offspring slot, reused across generations.
+	 */
+	private final Map<ThreadConfinedLocalSearch, IncrementalEvaluator[]> evaluators = new IdentityHashMap<>();
+
+	/**
+	 * @param parallelism The number of worker threads.
+	 */
+	public ParallelLocalSearch(int parallelism) {
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Applies <code>operators[k]</code> to the offspring in memory index <code>offspring[k]</code>.
+	 *
+	 * @param problem The problem holding the offspring.
+	 * @param offspring The memory indices of the offspring.
+	 * @param operators The local search operator of each offspring.
+	 * @param generationSeed The seed of this generation, drawn from the trial's random number generator.
+	 */
+	public void apply(SAT problem, int[] offspring, PopulationHeuristic[] operators, long generationSeed) {
+
+		int count = offspring.length;
+		IncrementalEvaluator[] solutions = new IncrementalEvaluator[count];
+		for (int k = 0; k < count; k++) {
+			if (operators[k] instanceof ThreadConfinedLocalSearch localSearch) {
+				solutions[k] = getEvaluator(problem, localSearch, k, count);
+				solutions[k].synchronise(problem, offspring[k]);
+			}
+		}
+
+		pool.submit(() -> IntStream.range(0, count).parallel().forEach(k -> {
+			if (solutions[k] != null) {
+				LocalSearchPassEvent event = new LocalSearchPassEvent();
+				double objectiveBefore = solutions[k].getObjectiveValue();
+				event.begin();
+				((ThreadConfinedLocalSearch) operators[k]).improve(solutions[k], RandomStreams.forTask(generationSeed, k));
+				event.complete(operators[k], offspring[k], objectiveBefore, solutions[k].getObjectiveValue());
+			}
+		})).join();
+
+		for (int k = 0; k < count; k++) {
+			if (solutions[k] != null) {
+				solutions[k].writeTo(problem, offspring[k]);
+			} else {
+				LocalSearchPassEvent.apply(problem, operators[k], offspring[k]);
+			}
+		}
+	}
+
+	private IncrementalEvaluator getEvaluator(SAT problem, ThreadConfinedLocalSearch localSearch, int slot, int count) {
+
+		if (index == null || indexProblem != problem) {
+			index = ClauseIndex.of(problem);
+			indexProblem = problem;
+			evaluators.clear();
+		}
+
+		IncrementalEvaluator[] slots = evaluators.get(localSearch);
+		if (slots == null || slots.length < count) {
+			slots = slots == null ? new IncrementalEvaluator[count] : Arrays.copyOf(slots, count);
+			evaluators.put(localSearch, slots);
+		}
+		if (slots[slot] == null) {
+			slots[slot] = localSearch.createEvaluator(index);
+		}
+		return slots[slot];
+	}
+
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+}
@@ -14,11 +14,21 @@ public abstract class ParentSelection {
     protected final Random rng;
     protected final int POPULATION_SIZE;
     protected final SAT problem;
+    protected final PopulationFitnessCache fitness;
 
     public ParentSelection(SAT problem, Random rng, int POPULATION_SIZE) {
+        this(problem, rng, POPULATION_SIZE, new PopulationFitnessCache(problem, POPULATION_SIZE));
+    }
+
+    /**
+     * @param fitness The fitness snapshot to read objective values from, may be shared
+     *                with the other selection and replacement operators of the search.
+     */
+    public ParentSelection(SAT problem, Random rng, int POPULATION_SIZE, PopulationFitnessCache fitness) {
         this.problem = problem;
         this.rng = rng;
         this.POPULATION_SIZE = POPULATION_SIZE;
+        this.fitness = fitness;
     }
 
     /**
@@ -26,4 +36,12 @@ public abstract class ParentSelection {
      * @return The index of a parent solution.
      */
     public abstract int parentSelection();
+
+    /**
+     * @return The fitness snapshot used by this selection method, the search method
+     *         invalidates it whenever it modifies an individual.
+     */
+    public PopulationFitnessCache getFitnessCache() {
+        return fitness;
+    }
 }
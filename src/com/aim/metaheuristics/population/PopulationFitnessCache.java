@@ -0,0 +1,164 @@
+package com.aim.metaheuristics.population;
+
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.Arrays;
+
+/**
+ * A snapshot of the objective values of the parent and offspring populations
+ * (memory indices 0 .. 2 * POPULATION_SIZE - 1) shared by the selection and replacement
+ * operators of one generation.
+ *
+ * Each value is evaluated at most once until the individual is modified and
+ * {@link #invalidate(int)}d. The fittest and least fit parents and the parents sorted by
+ * fitness are maintained lazily, so repeated selections within a generation cost O(1).
+ */
+public class PopulationFitnessCache {
+
+	private final SAT problem;
+
+	private final int populationSize;
+
+	private final double[] fitness;
+
+	private final boolean[] valid;
+
+	/**
+	 * Whether bestParent, worstParent and sortedParents reflect the current parent population.
+	 */
+	private boolean parentSummaryValid = false;
+
+	private boolean parentsSorted = false;
+
+	private int bestParent;
+
+	private int worstParent;
+
+	private final int[] sortedParents;
+
+	public PopulationFitnessCache(SAT problem, int populationSize) {
+
+		this.problem = problem;
+		this.populationSize = populationSize;
+		this.fitness = new double[populationSize * 2];
+		this.valid = new boolean[populationSize * 2];
+		this.sortedParents = new int[populationSize];
+	}
+
+	/**
+	 * @param index The solution memory index.
+	 * @return The objective value of the solution, evaluated only if it is not cached.
+	 */
+	public double getFitness(int index) {
+
+		if (!valid[index]) {
+			fitness[index] = problem.getObjectiveFunctionValue(index);
+			valid[index] = true;
+		}
+		return fitness[index];
+	}
+
+	/**
+	 * Marks the solution as modified.
+	 *
+	 * @param index The solution memory index.
+	 */
+	public void invalidate(int index) {
+
+		valid[index] = false;
+		if (index < populationSize) {
+			parentSummaryValid = false;
+			parentsSorted = false;
+		}
+	}
+
+	/**
+	 * Marks every solution as modified, e.g. after population replacement.
+	 */
+	public void invalidateAll() {
+
+		Arrays.fill(valid, false);
+		parentSummaryValid = false;
+		parentsSorted = false;
+	}
+
+	/**
+	 * @return The memory index of the fittest parent, the lowest index on ties.
+	 */
+	public int getBestParent() {
+
+		summariseParents();
+		return bestParent;
+	}
+
+	/**
+	 * @return The memory index of the least fit parent, the lowest index on ties.
+	 */
+	public int getWorstParent() {
+
+		summariseParents();
+		return worstParent;
+	}
+
+	/**
+	 * @return The memory indices of the parents ordered from fittest to least fit (not a copy).
+	 */
+	public int[] getParentsSortedByFitness() {
+
+		if (!parentsSorted) {
+			// insertion sort, stable and allocation free for the small populations used here
+			for (int i = 0; i < populationSize; i++) {
+				double value = getFitness(i);
+				int j = i - 1;
+				while (j >= 0 && fitness[sortedParents[j]] > value) {
+					sortedParents[j + 1] = sortedParents[j];
+					j--;
+				}
+				sortedParents[j + 1] = i;
+			}
+			parentsSorted = true;
+		}
+		return sortedParents;
+	}
+
+	/**
+	 * @param from The first memory index (inclusive).
+	 * @param to The last memory index (exclusive).
+	 * @return The memory index of the fittest solution in the range, the lowest index on ties.
+	 */
+	public int getBestIndex(int from, int to) {
+
+		int best = from;
+		for (int i = from + 1; i < to; i++) {
+			if (getFitness(i) < getFitness(best)) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	public int getPopulationSize() {
+		return populationSize;
+	}
+
+	private void summariseParents() {
+
+		if (parentSummaryValid) {
+			return;
+		}
+
+		getFitness(0);
+		bestParent = 0;
+		worstParent = 0;
+		for (int i = 1; i < populationSize; i++) {
+			double value = getFitness(i);
+			if (value < fitness[bestParent]) {
+				bestParent = i;
+			}
+			if (value > fitness[worstParent]) {
+				worstParent = i;
+			}
+		}
+		parentSummaryValid = true;
+	}
+}
@@ -0,0 +1,28 @@
+package com.aim.metaheuristics.population;
+
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.IncrementalEvaluator;
+
+import java.util.Random;
+
+/**
+ * A local search operator that can improve a private copy of a solution without touching
+ * the shared {@link uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT} or any other state, so that
+ * several offspring can be improved concurrently by {@link ParallelLocalSearch}.
+ */
+public interface ThreadConfinedLocalSearch {
+
+	/**
+	 * @param index The clause index of the problem.
+	 * @return A new evaluator of the kind {@link #improve(IncrementalEvaluator, Random)} expects.
+	 */
+	IncrementalEvaluator createEvaluator(ClauseIndex index);
+
+	/**
+	 * Applies the local search to the solution held by the evaluator.
+	 *
+	 * @param solution The solution to improve, created by {@link #createEvaluator(ClauseIndex)}.
+	 * @param random The random number generator of this task.
+	 */
+	void improve(IncrementalEvaluator solution, Random random);
+}
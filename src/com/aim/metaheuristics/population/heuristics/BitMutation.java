@@ -11,25 +11,62 @@ import java.util.Random;
  *
  */
 public class BitMutation extends PopulationHeuristic {
+
+	/**
+	 * How the bits to flip are chosen. Both modes flip each bit independently
+	 * with probability equal to the mutation rate.
+	 */
+	public enum Sampling {
+		/**
+		 * Draws one random number per variable.
+		 */
+		PER_BIT,
+		/**
+		 * Draws the gaps between flipped bits from a geometric distribution,
+		 * i.e. one random number per flipped bit (plus one).
+		 */
+		GEOMETRIC_SKIP
+	}
 	
 	/**
 	 * 
 	 */
 	private double m_mutationRate;
+
+	/**
+	 * ln(1 - mutation rate), cached for geometric skip sampling.
+	 */
+	private double m_logOneMinusRate;
 	
 	/**
 	 * 
 	 */
 	private final int m_variables;
 
+	/**
+	 * 
+	 */
+	private final Sampling m_sampling;
+
 	/**
 	 * 
 	 * @param oProblem
 	 * @param oRandom
 	 */
 	public BitMutation(SAT oProblem, Random oRandom) {
+		this(oProblem, oRandom, Sampling.PER_BIT);
+	}
+
+	/**
+	 * 
+	 * @param oProblem
+	 * @param oRandom
+	 * @param sampling How the bits to flip are sampled.
+	 */
+	public BitMutation(SAT oProblem, Random oRandom, Sampling sampling) {
 		super(oProblem, oRandom);
 		this.m_variables = oProblem.getNumberOfVariables();
+		this.m_sampling = sampling;
 		setMutationRate(1);
 		//setMutationRate(1 / this.m_variables);
 	}
@@ -40,14 +77,41 @@ public class BitMutation extends PopulationHeuristic {
 	 */
 	public void setMutationRate(int iIntensityOfMutation) {
 		this.m_mutationRate = ((double) iIntensityOfMutation / this.m_variables);
+		this.m_logOneMinusRate = Math.log1p(-this.m_mutationRate);
 	}
 
 	@Override
 	public void applyHeuristic(int iSolutionMemoryIndex) {
+		if (this.m_sampling == Sampling.GEOMETRIC_SKIP && this.m_mutationRate < 1.0d) {
+			applyUsingGeometricSkips(iSolutionMemoryIndex);
+			return;
+		}
+
 		for (int i = 0; i < this.problem.getNumberOfVariables(); i++) {
 			if (this.random.nextDouble() < this.m_mutationRate) {
 				this.problem.bitFlip(i, iSolutionMemoryIndex);
 			}
 		}
 	}
+
+	/**
+	 * The number of bits skipped before the next flip of a Bernoulli(p) process is
+	 * geometrically distributed, floor( ln(U) / ln(1 - p) ) for U uniform in (0, 1].
+	 */
+	private void applyUsingGeometricSkips(int iSolutionMemoryIndex) {
+		if (this.m_mutationRate <= 0.0d) {
+			return;
+		}
+
+		int n = this.problem.getNumberOfVariables();
+		double i = -1;
+		while (true) {
+			double u = 1.0d - this.random.nextDouble();
+			i += 1 + Math.floor(Math.log(u) / this.m_logOneMinusRate);
+			if (i >= n) {
+				break;
+			}
+			this.problem.bitFlip((int) i, iSolutionMemoryIndex);
+		}
+	}
 }
@@ -1,5 +1,8 @@
 package com.aim.metaheuristics.population.heuristics;
 
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.IncrementalEvaluator;
+import com.aim.metaheuristics.population.ThreadConfinedLocalSearch;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.helperfunctions.ArrayMethods;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
@@ -7,7 +10,7 @@ import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
 import java.util.Random;
 import java.util.stream.IntStream;
 
-public abstract class DavissBitHillClimbing extends PopulationHeuristic {
+public abstract class DavissBitHillClimbing extends PopulationHeuristic implements ThreadConfinedLocalSearch {
 
 	public DavissBitHillClimbing(SAT oProblem, Random oRandom) {
 		super(oProblem, oRandom);
@@ -32,5 +35,30 @@ public abstract class DavissBitHillClimbing extends PopulationHeuristic {
         }
 	}
 
+	public IncrementalEvaluator createEvaluator(ClauseIndex index) {
+		return new IncrementalEvaluator(index);
+	}
+
+	/**
+	 * The same pass as {@link #applyHeuristic(int)} over a private copy of the solution,
+	 * costing each flip with the evaluator's delta instead of a full evaluation.
+	 */
+	public void improve(IncrementalEvaluator solution, Random random) {
+
+		int[] variableIndices = IntStream.range(0, solution.getNumberOfVariables()).toArray();
+		int[] perm = ArrayMethods.shuffle(variableIndices, random);
+
+		double currentCost = solution.getObjectiveValue();
+
+		for (int i : perm) {
+			double candidateCost = currentCost + solution.getDelta(i);
+
+			if (acceptMove(currentCost, candidateCost)) {
+				solution.flip(i);
+				currentCost = candidateCost;
+			}
+		}
+	}
+
 	public abstract boolean acceptMove(double paramDouble1, double paramDouble2);
 }
@@ -2,29 +2,54 @@ package com.aim.metaheuristics.population.heuristics;
 
 import java.util.Random;
 
+import com.aim.evaluation.BucketedGainTable;
+import com.aim.evaluation.ClauseIndex;
+import com.aim.evaluation.IncrementalEvaluator;
+import com.aim.metaheuristics.population.ThreadConfinedLocalSearch;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
 
-public abstract class SteepestDescentHillClimbing extends PopulationHeuristic {
+public abstract class SteepestDescentHillClimbing extends PopulationHeuristic implements ThreadConfinedLocalSearch {
+
+	/**
+	 * Gains of the last solution this heuristic was applied to, kept in gain buckets
+	 * so the steepest move is a lookup rather than a scan over all variables.
+	 */
+	private BucketedGainTable gains;
+
 	public SteepestDescentHillClimbing(SAT oProblem, Random oRandom) {
 		super(oProblem, oRandom);
 	}
 
 	public void applyHeuristic(int iSolutionMemoryIndex) {
-		double d1;
-		double d2 = d1 = this.problem.getObjectiveFunctionValue(iSolutionMemoryIndex);
-		int i = -1;
-		for (int j = 0; j < this.problem.getNumberOfVariables(); j++) {
-			this.problem.bitFlip(j, iSolutionMemoryIndex);
-			d1 = this.problem.getObjectiveFunctionValue(iSolutionMemoryIndex);
-			if (acceptMove(d2, d1)) {
-				i = j;
-				d2 = d1;
-			}
-			this.problem.bitFlip(j, iSolutionMemoryIndex);
+		if (gains == null) {
+			gains = new BucketedGainTable(ClauseIndex.of(this.problem));
 		}
-		if (i != -1) {
-			this.problem.bitFlip(i, iSolutionMemoryIndex);
+		gains.synchronise(this.problem, iSolutionMemoryIndex);
+
+		double d2 = gains.getObjectiveValue();
+		double d1 = d2 - gains.getBestGain();
+		if (acceptMove(d2, d1)) {
+			int i = gains.getBestVariable();
+			gains.flip(this.problem, iSolutionMemoryIndex, i);
+		}
+		gains.reportEvaluations();
+	}
+
+	public IncrementalEvaluator createEvaluator(ClauseIndex index) {
+		return new BucketedGainTable(index);
+	}
+
+	/**
+	 * The same single steepest move as {@link #applyHeuristic(int)} on a private copy of the solution.
+	 */
+	public void improve(IncrementalEvaluator solution, Random random) {
+
+		BucketedGainTable table = (BucketedGainTable) solution;
+		double d2 = table.getObjectiveValue();
+		double d1 = d2 - table.getBestGain();
+		if (acceptMove(d2, d1)) {
+			table.flip(table.getBestVariable());
 		}
 	}
 
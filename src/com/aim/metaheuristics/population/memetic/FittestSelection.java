@@ -1,6 +1,7 @@
 package com.aim.metaheuristics.population.memetic;
 
 import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 
 import java.util.Random;
@@ -14,6 +15,10 @@ public class FittestSelection extends ParentSelection {
 		super(problem, rng, POPULATION_SIZE);
 	}
 
+	public FittestSelection(SAT problem, Random rng, int POPULATION_SIZE, PopulationFitnessCache fitness) {
+		super(problem, rng, POPULATION_SIZE, fitness);
+	}
+
 	/**
 	  * @return The index of the chosen parent solution.
 	  *
@@ -26,17 +31,7 @@ public class FittestSelection extends ParentSelection {
 	  */
 	public int parentSelection() {
 		
-		int bestIndex = -1;
-		double bestSolution = Double.POSITIVE_INFINITY;
-		
-		for (int i = 0; i < POPULATION_SIZE; i++) {
-			double objectiveValue = problem.getObjectiveFunctionValue(i);
-			if (objectiveValue < bestSolution) {
-				bestIndex = i;
-				bestSolution = objectiveValue;
-			}
-		}
-		
-		return bestIndex;
+		// the fittest parent is maintained by the fitness snapshot until the population changes
+		return fitness.getBestParent();
 	}
 }
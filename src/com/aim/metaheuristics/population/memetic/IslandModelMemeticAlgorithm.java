@@ -0,0 +1,253 @@
+package com.aim.metaheuristics.population.memetic;
+
+import com.aim.TrialMetrics;
+import com.aim.evaluation.PackedSolutionMemory;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
+import com.aim.random.RandomStreams;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Island model Memetic Algorithm running several sub-populations of one trial concurrently.
+ *
+ * Each island is an ordinary {@link MemeticAlgorithm} with its own problem (solution memory),
+ * random number generator and operators, running on its own worker of a {@link ForkJoinPool}.
+ * Every <code>migrationInterval</code> generations an island sends copies of its
+ * <code>migrationSize</code> fittest parents to the next island on the ring and lets the
+ * migrants waiting for it replace its least fit parents, if they are fitter. Migrants travel
+ * as packed solutions through bounded {@link MigrationChannel}s, so islands never wait for
+ * each other. Generations are counted as iterations in the {@link TrialMetrics} of each
+ * island's problem, if it has any.
+ */
+public class IslandModelMemeticAlgorithm {
+
+	/**
+	 * Creates the Memetic Algorithm of one island, including its operators, from the island's
+	 * problem and random number generator.
+	 */
+	@FunctionalInterface
+	public interface IslandFactory {
+		MemeticAlgorithm create(SAT problem, Random random);
+	}
+
+	/**
+	 * Receives the best objective value an island has found after each of its generations,
+	 * called on the thread that runs the island.
+	 */
+	@FunctionalInterface
+	public interface GenerationListener {
+		void generationCompleted(int island, double bestSolutionValue);
+	}
+
+	/**
+	 * A copy of a parent in transit between two islands.
+	 */
+	private record Migrant(double value, long[] solution) {
+	}
+
+	private final SAT[] problems;
+
+	private final MemeticAlgorithm[] islands;
+
+	private final PopulationFitnessCache[] fitness;
+
+	private final PackedSolutionMemory[] memories;
+
+	/**
+	 * inbound.get(i) carries migrants from island i - 1 to island i.
+	 */
+	private final List<MigrationChannel<Migrant>> inbound;
+
+	private final int populationSize;
+
+	private final int migrationInterval;
+
+	private final int migrationSize;
+
+	private final AtomicInteger immigrants = new AtomicInteger();
+
+	private final GenerationListener generationListener;
+
+	/**
+	 * @param problemFactory Creates the problem of one island from its random number generator.
+	 * @param islandFactory Creates the Memetic Algorithm of one island.
+	 * @param random The random number generator used to seed the islands.
+	 * @param islandCount The number of islands to run concurrently.
+	 * @param populationSize The population size of each island.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of parents each island sends per migration.
+	 */
+	public IslandModelMemeticAlgorithm(Function<Random, SAT> problemFactory, IslandFactory islandFactory,
+			Random random, int islandCount, int populationSize, int migrationInterval, int migrationSize) {
+		this(problemFactory, islandFactory, (island, value) -> { }, random, islandCount, populationSize,
+				migrationInterval, migrationSize);
+	}
+
+	/**
+	 * @param problemFactory Creates the problem of one island from its random number generator.
+	 * @param islandFactory Creates the Memetic Algorithm of one island.
+	 * @param generationListener Receives the best value of an island after each of its generations.
+	 * @param random The random number generator used to seed the islands.
+	 * @param islandCount The number of islands to run concurrently.
+	 * @param populationSize The population size of each island.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of parents each island sends per migration.
+	 */
+	@SuppressWarnings("unchecked")
+	public IslandModelMemeticAlgorithm(Function<Random, SAT> problemFactory, IslandFactory islandFactory,
+			GenerationListener generationListener, Random random, int islandCount, int populationSize,
+			int migrationInterval, int migrationSize) {
+
+		if (migrationInterval < 1) {
+			throw new IllegalArgumentException("Migration interval must be positive but was " + migrationInterval);
+		}
+		if (migrationSize < 1 || migrationSize >= populationSize) {
+			throw new IllegalArgumentException("Migration size must be in [1, " + populationSize + ") but was "
+					+ migrationSize);
+		}
+
+		this.generationListener = generationListener;
+		this.populationSize = populationSize;
+		this.migrationInterval = migrationInterval;
+		this.migrationSize = migrationSize;
+		this.problems = new SAT[islandCount];
+		this.islands = new MemeticAlgorithm[islandCount];
+		this.fitness = new PopulationFitnessCache[islandCount];
+		this.memories = new PackedSolutionMemory[islandCount];
+		this.inbound = new ArrayList<>(islandCount);
+
+		for (int i = 0; i < islandCount; i++) {
+			Random islandRandom = RandomStreams.split(random);
+			problems[i] = problemFactory.apply(islandRandom);
+			islands[i] = islandFactory.create(problems[i], islandRandom);
+			fitness[i] = new PopulationFitnessCache(problems[i], populationSize);
+			memories[i] = new PackedSolutionMemory(problems[i].getNumberOfVariables(), populationSize);
+			// room for two migrations in transit before emigrants are dropped
+			inbound.add(new MigrationChannel<>(2 * migrationSize));
+		}
+	}
+
+	/**
+	 * Runs every island for the given number of generations, or until its time has expired.
+	 *
+	 * @param generations The number of generations of each island.
+	 * @return The best objective value found by any island.
+	 */
+	public double run(int generations) {
+
+		ForkJoinPool pool = new ForkJoinPool(islands.length);
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			for (int i = 0; i < islands.length; i++) {
+				int island = i;
+				tasks.add(pool.submit(() -> runIsland(island, generations)));
+			}
+			tasks.forEach(ForkJoinTask::join);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return getBestSolutionValue();
+	}
+
+	/**
+	 * Runs every island until its problem reports that its time has expired.
+	 *
+	 * @return The best objective value found by any island.
+	 */
+	public double run() {
+		return run(Integer.MAX_VALUE);
+	}
+
+	private void runIsland(int island, int generations) {
+
+		SAT problem = problems[island];
+		MemeticAlgorithm ma = islands[island];
+		TrialMetrics metrics = TrialMetrics.of(problem);
+		for (int generation = 1; generation <= generations && !problem.hasTimeExpired(); generation++) {
+			ma.run();
+			if (metrics != null) {
+				metrics.recordIteration();
+			}
+			if (generation % migrationInterval == 0) {
+				migrate(island);
+			}
+			generationListener.generationCompleted(island, problem.getBestSolutionValue());
+		}
+	}
+
+	/**
+	 * Sends the fittest parents of the island to its neighbour and admits the migrants waiting
+	 * for it. Called between generations, when the parents occupy indices 0 .. populationSize - 1.
+	 */
+	private void migrate(int island) {
+
+		SAT problem = problems[island];
+		PopulationFitnessCache cache = fitness[island];
+		PackedSolutionMemory memory = memories[island];
+
+		cache.invalidateAll();
+		int[] order = cache.getParentsSortedByFitness().clone();
+
+		// emigrate copies of the fittest parents
+		MigrationChannel<Migrant> outbound = inbound.get((island + 1) % islands.length);
+		for (int k = 0; k < migrationSize; k++) {
+			int index = order[k];
+			memory.pull(problem, index);
+			outbound.offer(new Migrant(cache.getFitness(index), memory.get(index).clone()));
+		}
+
+		// immigrants replace the least fit parents they improve on, never the emigrants
+		int worst = populationSize - 1;
+		Migrant migrant;
+		while ((migrant = inbound.get(island).poll()) != null) {
+			if (worst < migrationSize) {
+				continue;
+			}
+			int index = order[worst];
+			if (migrant.value() < cache.getFitness(index)) {
+				memory.store(problem, index, migrant.solution());
+				cache.invalidate(index);
+				immigrants.incrementAndGet();
+				worst--;
+			}
+		}
+	}
+
+	private SAT getBestProblem() {
+
+		SAT best = problems[0];
+		for (SAT problem : problems) {
+			if (problem.getBestSolutionValue() < best.getBestSolutionValue()) {
+				best = problem;
+			}
+		}
+		return best;
+	}
+
+	public double getBestSolutionValue() {
+		return getBestProblem().getBestSolutionValue();
+	}
+
+	public String getBestSolutionAsString() {
+		return getBestProblem().getBestSolutionAsString();
+	}
+
+	/**
+	 * @return The number of migrants that replaced a parent of the island they arrived at.
+	 */
+	public int getImmigrants() {
+		return immigrants.get();
+	}
+
+	public String toString() {
+		return "Island Model Memetic Algorithm with " + islands.length + " islands";
+	}
+}
@@ -1,13 +1,19 @@
 package com.aim.metaheuristics.population.memetic;
 
+import com.aim.metaheuristics.population.ParallelLocalSearch;
 import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.profiling.GenerationEvent;
+import com.aim.profiling.LocalSearchPassEvent;
+import com.aim.profiling.ReplacementEvent;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.CrossoverHeuristic;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationReplacement;
 import uk.ac.nott.cs.aim.searchmethods.PopulationBasedSearchMethod;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 /**
  * Memetic Algorithm ( local search should to be added per the report exercise ).
@@ -31,6 +37,12 @@ public class MemeticAlgorithm extends PopulationBasedSearchMethod {
 
 	private final ParentSelection p2Selection;
 
+	/**
+	 * Applies local search to all offspring at once after they have been created, or null
+	 * to apply it to each pair of offspring as soon as they are created.
+	 */
+	private ParallelLocalSearch parallelLocalSearch = null;
+
 	public MemeticAlgorithm(SAT problem, Random rng, int populationSize, CrossoverHeuristic crossover, 
 			PopulationHeuristic mutation, PopulationHeuristic localSearch, ParentSelection p1Selection,
 			ParentSelection p2Selection, PopulationReplacement replacement) {
@@ -67,6 +79,13 @@ public class MemeticAlgorithm extends PopulationBasedSearchMethod {
 	  */
 	public void runMainLoop() {
 
+		GenerationEvent event = new GenerationEvent();
+		double bestBefore = problem.getBestSolutionValue();
+		event.begin();
+
+		// drawn up front so the sequential mode consumes the random number stream as before
+		long localSearchSeed = parallelLocalSearch == null ? 0 : rng.nextLong();
+
 		for(int iIterationCount = 0; iIterationCount < POPULATION_SIZE; iIterationCount += 2) {
 
 			// select unique parents
@@ -88,12 +107,47 @@ public class MemeticAlgorithm extends PopulationBasedSearchMethod {
 			mutation.applyHeuristic(c2Index);
 
 			// apply local search to offspring
-			localSearch.applyHeuristic(c1Index);
-			localSearch.applyHeuristic(c2Index);
+			if (parallelLocalSearch == null) {
+				LocalSearchPassEvent.apply(problem, localSearch, c1Index);
+				LocalSearchPassEvent.apply(problem, localSearch, c2Index);
+			}
+
+			// the offspring have changed since they were last evaluated
+			invalidateFitness(c1Index);
+			invalidateFitness(c2Index);
+		}
+
+		// apply local search to all offspring concurrently
+		if (parallelLocalSearch != null) {
+			int[] offspring = IntStream.range(POPULATION_SIZE, 2 * POPULATION_SIZE).toArray();
+			PopulationHeuristic[] operators = new PopulationHeuristic[offspring.length];
+			Arrays.fill(operators, localSearch);
+			parallelLocalSearch.apply(problem, offspring, operators, localSearchSeed);
 		}
 
 		// do population replacement
-		replacement.doReplacement(problem, POPULATION_SIZE);
+		ReplacementEvent.apply(problem, replacement, POPULATION_SIZE);
+
+		// every parent may have been replaced
+		p1Selection.getFitnessCache().invalidateAll();
+		p2Selection.getFitnessCache().invalidateAll();
+
+		event.complete(this, bestBefore, problem.getBestSolutionValue());
+	}
+
+	/**
+	 * Switches between applying local search to each pair of offspring as soon as they are
+	 * created and applying it to all offspring of a generation concurrently.
+	 *
+	 * @param parallelLocalSearch The parallel local search to use, or null for the sequential mode.
+	 */
+	public void setParallelLocalSearch(ParallelLocalSearch parallelLocalSearch) {
+		this.parallelLocalSearch = parallelLocalSearch;
+	}
+
+	private void invalidateFitness(int index) {
+		p1Selection.getFitnessCache().invalidate(index);
+		p2Selection.getFitnessCache().invalidate(index);
 	}
 	
 	@Override
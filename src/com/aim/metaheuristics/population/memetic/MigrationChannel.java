@@ -0,0 +1,83 @@
+package com.aim.metaheuristics.population.memetic;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, single-producer single-consumer queue carrying migrants from one
+ * island to its neighbour on the ring.
+ *
+ * The producer only writes <code>tail</code> and the consumer only writes <code>head</code>,
+ * each publishing with a release store, so neither side ever blocks or retries. A full
+ * channel rejects the offer; the emigrant is simply not sent, which keeps a fast island
+ * from flooding a slow one.
+ *
+ * @param <T> The type of the migrants.
+ */
+public class MigrationChannel<T> {
+
+	private final AtomicReferenceArray<T> slots;
+
+	private final int mask;
+
+	/**
+	 * The sequence number of the next migrant to be taken, written only by the consumer.
+	 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * The sequence number of the next free slot, written only by the producer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * @param capacity The maximum number of migrants in transit, rounded up to a power of two.
+	 */
+	public MigrationChannel(int capacity) {
+
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Called by the producer only.
+	 *
+	 * @param migrant The migrant to send.
+	 * @return false if the channel is full and the migrant was dropped.
+	 */
+	public boolean offer(T migrant) {
+
+		long t = tail.get();
+		if (t - head.getAcquire() > mask) {
+			return false;
+		}
+		slots.setRelease((int) t & mask, migrant);
+		tail.setRelease(t + 1);
+		return true;
+	}
+
+	/**
+	 * Called by the consumer only.
+	 *
+	 * @return The oldest migrant in transit, or null if there is none.
+	 */
+	public T poll() {
+
+		long h = head.get();
+		if (h == tail.getAcquire()) {
+			return null;
+		}
+		int slot = (int) h & mask;
+		T migrant = slots.getAcquire(slot);
+		slots.setRelease(slot, null);
+		head.setRelease(h + 1);
+		return migrant;
+	}
+}
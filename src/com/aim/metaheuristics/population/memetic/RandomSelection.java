@@ -1,6 +1,7 @@
 package com.aim.metaheuristics.population.memetic;
 
 import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 
 import java.util.Random;
@@ -14,6 +15,10 @@ public class RandomSelection extends ParentSelection {
 		super(problem, rng, POPULATION_SIZE);
 	}
 
+	public RandomSelection(SAT problem, Random rng, int POPULATION_SIZE, PopulationFitnessCache fitness) {
+		super(problem, rng, POPULATION_SIZE, fitness);
+	}
+
 	/**
 	  * @return The index of the chosen parent solution.
 	  *
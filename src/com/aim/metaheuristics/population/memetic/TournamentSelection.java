@@ -1,6 +1,7 @@
 package com.aim.metaheuristics.population.memetic;
 
 import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 
 import java.util.Random;
@@ -17,6 +18,12 @@ public class TournamentSelection extends ParentSelection {
 		this.tournamentSize = tournamentSize;
 	}
 
+	public TournamentSelection(SAT problem, Random rng, int POPULATION_SIZE, int tournamentSize,
+			PopulationFitnessCache fitness) {
+		super(problem, rng, POPULATION_SIZE, fitness);
+		this.tournamentSize = tournamentSize;
+	}
+
 	/**
 	  * @return The index of the chosen parent solution.
 	  *
@@ -49,7 +56,7 @@ public class TournamentSelection extends ParentSelection {
 		double bestValue = Double.MAX_VALUE;
 
 		for (int i = 0; i < tournamentSize; i++) {
-			double currentValue = problem.getObjectiveFunctionValue(tournament[i]);
+			double currentValue = fitness.getFitness(tournament[i]);
 			if (currentValue < bestValue) {
 				bestValue = currentValue;
 				bestIndex = tournament[i];
@@ -1,11 +1,29 @@
 
 package com.aim.metaheuristics.population.memetic;
 
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationReplacement;
 
 public class TransGenerationalReplacementWithElitistReplacement extends PopulationReplacement {
 
+	/**
+	 * Fitness snapshot shared with the parent selection operators, or null to evaluate
+	 * each solution once per replacement.
+	 */
+	private final PopulationFitnessCache fitness;
+
+	public TransGenerationalReplacementWithElitistReplacement() {
+		this(null);
+	}
+
+	/**
+	 * @param fitness The fitness snapshot shared with the parent selection operators.
+	 */
+	public TransGenerationalReplacementWithElitistReplacement(PopulationFitnessCache fitness) {
+		this.fitness = fitness;
+	}
+
 	/**
 	 * Replaces the current population with the offspring and replaces the worst
 	 * offspring with the best solution if the best is not contained in the offspring.
@@ -25,6 +43,9 @@ public class TransGenerationalReplacementWithElitistReplacement extends Populati
 	 */
 	@Override
 	protected int[] getNextGeneration(SAT oProblem, int iPopulationSize) {
+
+		PopulationFitnessCache fitness = this.fitness != null ? this.fitness
+				: new PopulationFitnessCache(oProblem, iPopulationSize);
 		
 		// evaluate and find the best solution
 		int bestIndex = -1;
@@ -32,7 +53,7 @@ public class TransGenerationalReplacementWithElitistReplacement extends Populati
 		double currentValue;
 
 		for (int i = 0; i < iPopulationSize * 2; i++) {
-			currentValue = oProblem.getObjectiveFunctionValue(i);
+			currentValue = fitness.getFitness(i);
 			if (currentValue < bestValue) {
 				bestValue = currentValue;
 				bestIndex = i;
@@ -47,7 +68,7 @@ public class TransGenerationalReplacementWithElitistReplacement extends Populati
 
 		for (int i = 0; i < iPopulationSize; i++) {
 			nextPop[i] = i + iPopulationSize;
-			currentValue = oProblem.getObjectiveFunctionValue(nextPop[i]);
+			currentValue = fitness.getFitness(nextPop[i]);
 
 			if (nextPop[i] == bestIndex) {
 				ifBestInOffspring = true;
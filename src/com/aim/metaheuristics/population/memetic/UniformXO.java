@@ -1,5 +1,6 @@
 package com.aim.metaheuristics.population.memetic;
 
+import com.aim.evaluation.WordCrossover;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.CrossoverHeuristic;
 
@@ -20,11 +21,7 @@ public class UniformXO extends CrossoverHeuristic {
 		problem.copySolution(parent2Index, child2Index);
 
 		// crossover
-		// check each bit in the chromosome
-		for (int i = 0; i < problem.getNumberOfVariables(); i++) {
-			if (random.nextDouble() < 0.5) {
-				problem.exchangeBits(child1Index, child2Index, i);
-			}
-		}
+		// exchange each bit with probability 0.5, 64 bits per random mask
+		WordCrossover.uniform(problem, child1Index, child2Index, random);
 	}
 }
@@ -1,8 +1,12 @@
 package com.aim.metaheuristics.population.multimeme;
 
 import com.aim.metaheuristics.population.MemeplexInheritanceMethod;
+import com.aim.metaheuristics.population.ParallelLocalSearch;
 import com.aim.metaheuristics.population.ParentSelection;
 import com.aim.metaheuristics.population.heuristics.BitMutation;
+import com.aim.profiling.GenerationEvent;
+import com.aim.profiling.LocalSearchPassEvent;
+import com.aim.profiling.ReplacementEvent;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.CrossoverHeuristic;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
@@ -31,6 +35,12 @@ public class MultiMeme extends PopulationBasedSearchMethod {
 	 * The possible local search operators to use.
 	 */
 	private final PopulationHeuristic[] lss; 
+
+	/**
+	 * Applies local search to all offspring at once after they have been created, or null
+	 * to apply it to each pair of offspring as soon as they are created.
+	 */
+	private ParallelLocalSearch parallelLocalSearch = null;
 	
 	// Constructor used for testing. Please do not remove!
 	/**
@@ -121,6 +131,13 @@ public class MultiMeme extends PopulationBasedSearchMethod {
 	 */
 	public void runMainLoop() {
 
+		GenerationEvent event = new GenerationEvent();
+		double bestBefore = problem.getBestSolutionValue();
+		event.begin();
+
+		// Drawn up front so the sequential mode consumes the random number stream as before
+		long localSearchSeed = parallelLocalSearch == null ? 0 : rng.nextLong();
+
 		for (int iIterationCount = 0; iIterationCount < POPULATION_SIZE; iIterationCount += 2) {
 
 			// Select unique parents
@@ -149,13 +166,50 @@ public class MultiMeme extends PopulationBasedSearchMethod {
 			applyMutationForChildDependentOnMeme(c2Index, 0);
 
 			// Apply local search to offspring dependent on each solution's meme option
-			applyLocalSearchForChildDependentOnMeme(c1Index, 1);
-			applyLocalSearchForChildDependentOnMeme(c2Index, 1);
+			if (parallelLocalSearch == null) {
+				applyLocalSearchForChildDependentOnMeme(c1Index, 1);
+				applyLocalSearchForChildDependentOnMeme(c2Index, 1);
+			}
+
+			// The offspring have changed since they were last evaluated
+			invalidateFitness(c1Index);
+			invalidateFitness(c2Index);
+		}
+
+		// Apply local search to all offspring concurrently, each dependent on its meme option
+		if (parallelLocalSearch != null) {
+			int[] offspring = new int[POPULATION_SIZE];
+			PopulationHeuristic[] operators = new PopulationHeuristic[POPULATION_SIZE];
+			for (int k = 0; k < POPULATION_SIZE; k++) {
+				offspring[k] = POPULATION_SIZE + k;
+				operators[k] = lss[problem.getMeme(offspring[k], 1).getMemeOption()];
+			}
+			parallelLocalSearch.apply(problem, offspring, operators, localSearchSeed);
 		}
 
 		// Do population replacement
-		replacement.doReplacement(problem, POPULATION_SIZE);
-		
+		ReplacementEvent.apply(problem, replacement, POPULATION_SIZE);
+
+		// Every parent may have been replaced
+		p1selection.getFitnessCache().invalidateAll();
+		p2selection.getFitnessCache().invalidateAll();
+
+		event.complete(this, bestBefore, problem.getBestSolutionValue());
+	}
+
+	/**
+	 * Switches between applying local search to each pair of offspring as soon as they are
+	 * created and applying it to all offspring of a generation concurrently.
+	 *
+	 * @param parallelLocalSearch The parallel local search to use, or null for the sequential mode.
+	 */
+	public void setParallelLocalSearch(ParallelLocalSearch parallelLocalSearch) {
+		this.parallelLocalSearch = parallelLocalSearch;
+	}
+
+	private void invalidateFitness(int index) {
+		p1selection.getFitnessCache().invalidate(index);
+		p2selection.getFitnessCache().invalidate(index);
 	}
 
 
@@ -183,7 +237,7 @@ public class MultiMeme extends PopulationBasedSearchMethod {
 	public void applyLocalSearchForChildDependentOnMeme(int childIndex, int memeIndex) {
 
 		int lsIndex = problem.getMeme(childIndex, memeIndex).getMemeOption();
-		lss[lsIndex].applyHeuristic(childIndex);
+		LocalSearchPassEvent.apply(problem, lss[lsIndex], childIndex);
 
 	}
 	
@@ -0,0 +1,91 @@
+package com.aim.metaheuristics.singlepoint;
+
+import com.aim.TrialMetrics;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
+
+/**
+ * Records the bits flipped in the current solution since the last accept/reject decision
+ * so that single-point search methods can keep the CURRENT and BACKUP solutions identical
+ * by replaying a handful of flips rather than copying whole solutions.
+ *
+ * On accept the flips are replayed on the backup solution, on reject they are undone on the
+ * current solution (a bit flip is its own inverse). If more flips are made than the journal
+ * can hold, it falls back to {@link SAT#copySolution(int, int)}.
+ *
+ * Decisions are counted in the {@link TrialMetrics} of the problem, if it has any.
+ */
+public class MoveJournal {
+
+	private final SAT problem;
+
+	private final int[] flipped;
+
+	private int size = 0;
+
+	private boolean overflowed = false;
+
+	private final TrialMetrics metrics;
+
+	/**
+	 * @param problem The problem whose CURRENT solution is modified.
+	 * @param capacity The number of flips to record before falling back to full copies.
+	 */
+	public MoveJournal(SAT problem, int capacity) {
+
+		this.problem = problem;
+		this.flipped = new int[capacity];
+		this.metrics = TrialMetrics.of(problem);
+	}
+
+	/**
+	 * Flips the bit in the CURRENT solution and records it.
+	 *
+	 * @param variable The bit to flip.
+	 */
+	public void bitFlip(int variable) {
+
+		problem.bitFlip(variable, SATHeuristic.CURRENT_SOLUTION_INDEX);
+		if (size < flipped.length) {
+			flipped[size++] = variable;
+		} else {
+			overflowed = true;
+		}
+	}
+
+	/**
+	 * Accepts the recorded flips by replaying them on the BACKUP solution.
+	 */
+	public void accept() {
+
+		if (metrics != null) {
+			metrics.recordAccept();
+		}
+		replay(SATHeuristic.CURRENT_SOLUTION_INDEX, SATHeuristic.BACKUP_SOLUTION_INDEX);
+	}
+
+	/**
+	 * Rejects the recorded flips by undoing them on the CURRENT solution.
+	 */
+	public void reject() {
+
+		if (metrics != null) {
+			metrics.recordReject();
+		}
+		replay(SATHeuristic.BACKUP_SOLUTION_INDEX, SATHeuristic.CURRENT_SOLUTION_INDEX);
+	}
+
+	private void replay(int from, int to) {
+
+		if (overflowed) {
+			problem.copySolution(from, to);
+		} else {
+			for (int i = 0; i < size; i++) {
+				problem.bitFlip(flipped[i], to);
+			}
+		}
+
+		size = 0;
+		overflowed = false;
+	}
+}
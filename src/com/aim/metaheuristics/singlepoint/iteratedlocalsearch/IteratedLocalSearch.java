@@ -1,5 +1,7 @@
 package com.aim.metaheuristics.singlepoint.iteratedlocalsearch;
 
+import com.aim.TrialMetrics;
+import com.aim.profiling.SearchIterationEvent;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.searchmethods.SinglePointSearchMethod;
@@ -16,6 +18,9 @@ public class IteratedLocalSearch extends SinglePointSearchMethod {
 
 	private final int iIntensityOfMutation;  // iom parameter setting
 	private final int iDepthOfSearch;		   // dos parameter setting
+
+	// counts accepted/rejected moves, null if the problem is not instrumented
+	private final TrialMetrics metrics;
 	
 	/**
 	 * 
@@ -33,6 +38,7 @@ public class IteratedLocalSearch extends SinglePointSearchMethod {
 		this.oLocalSearchHeuristic = oLocalSearchHeuristic;
 		this.iIntensityOfMutation = iIntensityOfMutation;
 		this.iDepthOfSearch = iDepthOfSearch;
+		this.metrics = TrialMetrics.of(oProblem);
 	}
 
 	/**
@@ -64,6 +70,9 @@ public class IteratedLocalSearch extends SinglePointSearchMethod {
 	 * FI
 	 */
 	protected void runMainLoop() {
+		SearchIterationEvent event = new SearchIterationEvent();
+		event.begin();
+
 		// Get the objective value of the current solution
 		double currentObjectiveValue = problem.getObjectiveFunctionValue
 				(SATHeuristic.CURRENT_SOLUTION_INDEX);
@@ -83,16 +92,25 @@ public class IteratedLocalSearch extends SinglePointSearchMethod {
 				(SATHeuristic.CURRENT_SOLUTION_INDEX);
 
 		// Check whether to accept the modified solution
-		if (modifiedObjectiveValue <= currentObjectiveValue) {
+		boolean accepted = modifiedObjectiveValue <= currentObjectiveValue;
+		if (accepted) {
 			// Accept the modified solution
 			// Copy the current solution to the backup solution
 			problem.copySolution(SATHeuristic.CURRENT_SOLUTION_INDEX,
 					SATHeuristic.BACKUP_SOLUTION_INDEX);
+			if (metrics != null) {
+				metrics.recordAccept();
+			}
 		} else {
 			// Reject the modified solution, rollback to the backup solution
 			problem.copySolution(SATHeuristic.BACKUP_SOLUTION_INDEX,
 					SATHeuristic.CURRENT_SOLUTION_INDEX);
+			if (metrics != null) {
+				metrics.recordReject();
+			}
 		}
+
+		event.complete(this, currentObjectiveValue, modifiedObjectiveValue, accepted);
 	}
 
 	public String toString() {
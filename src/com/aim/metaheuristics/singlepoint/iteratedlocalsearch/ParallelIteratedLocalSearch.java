@@ -0,0 +1,207 @@
+package com.aim.metaheuristics.singlepoint.iteratedlocalsearch;
+
+import com.aim.TrialMetrics;
+import com.aim.evaluation.PackedSolutionMemory;
+import com.aim.random.RandomStreams;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
+import uk.ac.nott.cs.aim.searchmethods.SearchMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * Multi-start Iterated Local Search running several independent walkers within one trial.
+ *
+ * Each walker has its own problem (solution memory) and random number generator and runs
+ * on its own worker of a {@link ForkJoinPool}. Improvements are published to a
+ * {@link SharedIncumbent}; a walker that has not improved for <code>stagnationLimit</code>
+ * iterations restarts from the incumbent if another walker holds a better solution.
+ *
+ * Improvement is judged by the best value the walker's problem has recorded,
+ * {@link SAT#getBestSolutionValue()}, not by the value returned by {@link SearchMethod#run()},
+ * which is the objective value of the solution in CURRENT_SOLUTION_INDEX. Iterations are counted
+ * in the {@link TrialMetrics} of each walker's problem, if it has any.
+ */
+public class ParallelIteratedLocalSearch {
+
+	/**
+	 * Creates the search method of one walker, typically an {@link IteratedLocalSearch}.
+	 */
+	@FunctionalInterface
+	public interface WalkerFactory {
+		SearchMethod create(SAT problem, Random random);
+	}
+
+	private final SAT[] problems;
+
+	private final SearchMethod[] walkers;
+
+	private final PackedSolutionMemory[] memories;
+
+	private final SharedIncumbent incumbent = new SharedIncumbent();
+
+	/**
+	 * Non-improving iterations before a walker restarts from the incumbent, 0 to never restart.
+	 */
+	private final int stagnationLimit;
+
+	private final AtomicInteger restarts = new AtomicInteger();
+
+	/**
+	 * Creates the termination condition of a walker, called on the thread that runs it.
+	 */
+	private final Function<SAT, BooleanSupplier> terminationFactory;
+
+	/**
+	 * Receives the value of the incumbent after every iteration of the first walker.
+	 */
+	private final DoubleConsumer traceListener;
+
+	/**
+	 * The memory slot the best solution of a walker is read into before it is published.
+	 */
+	private static final int BEST_SLOT = 2;
+
+	/**
+	 * @param problemFactory Creates the problem of one walker from its random number generator.
+	 * @param walkerFactory Creates the search method of one walker.
+	 * @param random The random number generator used to seed the walkers.
+	 * @param walkerCount The number of walkers to run concurrently.
+	 * @param stagnationLimit Non-improving iterations before a walker restarts from the incumbent, 0 to disable.
+	 */
+	public ParallelIteratedLocalSearch(Function<Random, SAT> problemFactory, WalkerFactory walkerFactory,
+			Random random, int walkerCount, int stagnationLimit) {
+		this(problemFactory, problem -> problem::hasTimeExpired, value -> { }, walkerFactory, random, walkerCount,
+				stagnationLimit);
+	}
+
+	/**
+	 * @param problemFactory Creates the problem of one walker from its random number generator.
+	 * @param terminationFactory Creates the termination condition of a walker from its problem,
+	 *        called on the thread that runs the walker.
+	 * @param traceListener Receives the value of the incumbent after every iteration of the first walker.
+	 * @param walkerFactory Creates the search method of one walker.
+	 * @param random The random number generator used to seed the walkers.
+	 * @param walkerCount The number of walkers to run concurrently.
+	 * @param stagnationLimit Non-improving iterations before a walker restarts from the incumbent, 0 to disable.
+	 */
+	public ParallelIteratedLocalSearch(Function<Random, SAT> problemFactory,
+			Function<SAT, BooleanSupplier> terminationFactory, DoubleConsumer traceListener,
+			WalkerFactory walkerFactory, Random random, int walkerCount, int stagnationLimit) {
+
+		this.terminationFactory = terminationFactory;
+		this.traceListener = traceListener;
+		this.stagnationLimit = stagnationLimit;
+		this.problems = new SAT[walkerCount];
+		this.walkers = new SearchMethod[walkerCount];
+		this.memories = new PackedSolutionMemory[walkerCount];
+
+		for (int w = 0; w < walkerCount; w++) {
+			Random walkerRandom = RandomStreams.split(random);
+			problems[w] = problemFactory.apply(walkerRandom);
+			walkers[w] = walkerFactory.create(problems[w], walkerRandom);
+			memories[w] = new PackedSolutionMemory(problems[w].getNumberOfVariables(), BEST_SLOT + 1);
+		}
+	}
+
+	/**
+	 * Runs all walkers until each of their termination conditions is met.
+	 *
+	 * @return The best objective value found by any walker.
+	 */
+	public double run() {
+
+		ForkJoinPool pool = new ForkJoinPool(walkers.length);
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			for (int w = 0; w < walkers.length; w++) {
+				int walker = w;
+				tasks.add(pool.submit(() -> runWalker(walker)));
+			}
+			tasks.forEach(ForkJoinTask::join);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return getBestSolutionValue();
+	}
+
+	private void runWalker(int walker) {
+
+		SAT problem = problems[walker];
+		SearchMethod searchMethod = walkers[walker];
+		PackedSolutionMemory memory = memories[walker];
+		TrialMetrics metrics = TrialMetrics.of(problem);
+		BooleanSupplier termination = terminationFactory.apply(problem);
+
+		double best = problem.getBestSolutionValue();
+		int stagnation = 0;
+		while (!termination.getAsBoolean()) {
+			searchMethod.run();
+			if (metrics != null) {
+				metrics.recordIteration();
+			}
+
+			double value = problem.getBestSolutionValue();
+			if (value < best) {
+				best = value;
+				stagnation = 0;
+				if (value < incumbent.getValue()) {
+					memory.pullBest(problem, BEST_SLOT);
+					incumbent.offer(value, memory.get(BEST_SLOT).clone(), walker);
+				}
+			} else if (stagnationLimit > 0 && ++stagnation >= stagnationLimit) {
+				SharedIncumbent.Incumbent shared = incumbent.get();
+				if (shared.walker() != walker && shared.value() < best) {
+					// restart from the incumbent, keeping CURRENT and BACKUP the same
+					memory.store(problem, SATHeuristic.CURRENT_SOLUTION_INDEX, shared.solution());
+					problem.copySolution(SATHeuristic.CURRENT_SOLUTION_INDEX, SATHeuristic.BACKUP_SOLUTION_INDEX);
+					restarts.incrementAndGet();
+				}
+				stagnation = 0;
+			}
+
+			if (walker == 0) {
+				traceListener.accept(Math.min(best, incumbent.getValue()));
+			}
+		}
+	}
+
+	private SAT getBestProblem() {
+
+		SAT best = problems[0];
+		for (SAT problem : problems) {
+			if (problem.getBestSolutionValue() < best.getBestSolutionValue()) {
+				best = problem;
+			}
+		}
+		return best;
+	}
+
+	public double getBestSolutionValue() {
+		return getBestProblem().getBestSolutionValue();
+	}
+
+	public String getBestSolutionAsString() {
+		return getBestProblem().getBestSolutionAsString();
+	}
+
+	/**
+	 * @return The number of times a stagnating walker restarted from the incumbent.
+	 */
+	public int getRestarts() {
+		return restarts.get();
+	}
+
+	public String toString() {
+		return "Parallel Iterated Local Search with " + walkers.length + " walkers";
+	}
+}
@@ -0,0 +1,56 @@
+package com.aim.metaheuristics.singlepoint.iteratedlocalsearch;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The best solution found so far by any of several concurrent walkers.
+ *
+ * Walkers publish improvements with a compare-and-set on the objective value; an offer
+ * only wins if it is strictly better than the incumbent it observed, so no locks are held
+ * and a slower walker can never overwrite a better solution.
+ */
+public class SharedIncumbent {
+
+	/**
+	 * An immutable snapshot of the incumbent.
+	 *
+	 * @param value The objective value.
+	 * @param solution The packed solution, never modified after publication.
+	 * @param walker The index of the walker that found it.
+	 */
+	public record Incumbent(double value, long[] solution, int walker) {
+	}
+
+	private final AtomicReference<Incumbent> incumbent =
+			new AtomicReference<>(new Incumbent(Double.POSITIVE_INFINITY, null, -1));
+
+	/**
+	 * Publishes the solution if it improves on the incumbent.
+	 *
+	 * @param value The objective value of the solution.
+	 * @param solution The packed solution; ownership passes to this holder.
+	 * @param walker The index of the walker offering the solution.
+	 * @return true if the solution became the incumbent.
+	 */
+	public boolean offer(double value, long[] solution, int walker) {
+
+		Incumbent candidate = new Incumbent(value, solution, walker);
+		while (true) {
+			Incumbent current = incumbent.get();
+			if (value >= current.value()) {
+				return false;
+			}
+			if (incumbent.compareAndSet(current, candidate)) {
+				return true;
+			}
+		}
+	}
+
+	public Incumbent get() {
+		return incumbent.get();
+	}
+
+	public double getValue() {
+		return incumbent.get().value();
+	}
+}
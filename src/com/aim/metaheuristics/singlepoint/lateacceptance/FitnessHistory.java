@@ -0,0 +1,111 @@
+package com.aim.metaheuristics.singlepoint.lateacceptance;
+
+import java.util.Arrays;
+
+/**
+ * A fixed length history of objective values backed by a primitive circular buffer,
+ * so that reading the value from L iterations ago and recording the newest value
+ * allocates nothing.
+ *
+ * Optionally the minimum of the values currently in the history is maintained with a
+ * monotonic queue (amortised O(1) per update) for best-of-history acceptance variants.
+ */
+public class FitnessHistory {
+
+	private final double[] values;
+
+	/**
+	 * Position of the oldest value in <code>values</code>.
+	 */
+	private int oldest = 0;
+
+	/**
+	 * Number of values recorded so far, the sequence number of the next value.
+	 */
+	private long recorded;
+
+	/**
+	 * Sequence numbers of the candidates for the minimum, increasing in value from front to back.
+	 * Null if the minimum is not tracked.
+	 */
+	private final long[] minimumQueue;
+
+	private int queueFront = 0;
+
+	private int queueSize = 0;
+
+	/**
+	 * @param length The length L of the history.
+	 * @param initialValue The value every entry of the history starts with.
+	 * @param trackMinimum Whether {@link #getMinimum()} is supported.
+	 */
+	public FitnessHistory(int length, double initialValue, boolean trackMinimum) {
+
+		if (length < 1) {
+			throw new IllegalArgumentException("History length must be at least 1, was " + length);
+		}
+
+		this.values = new double[length];
+		Arrays.fill(values, initialValue);
+		this.recorded = length;
+		this.minimumQueue = trackMinimum ? new long[length] : null;
+		if (trackMinimum) {
+			// all entries are equal, the newest one is the only candidate needed
+			minimumQueue[0] = length - 1;
+			queueSize = 1;
+		}
+	}
+
+	/**
+	 * @return The value recorded L iterations ago.
+	 */
+	public double getOldest() {
+		return values[oldest];
+	}
+
+	/**
+	 * Drops the oldest value and records a new one.
+	 *
+	 * @param value The newest value.
+	 */
+	public void record(double value) {
+
+		long sequence = recorded++;
+		values[oldest] = value;
+		oldest = oldest + 1 == values.length ? 0 : oldest + 1;
+
+		if (minimumQueue != null) {
+			int length = values.length;
+			// drop the candidate that fell out of the window
+			if (queueSize > 0 && minimumQueue[queueFront] <= sequence - length) {
+				queueFront = queueFront + 1 == length ? 0 : queueFront + 1;
+				queueSize--;
+			}
+			// drop candidates that can never be the minimum again
+			while (queueSize > 0 && valueOf(minimumQueue[(queueFront + queueSize - 1) % length]) >= value) {
+				queueSize--;
+			}
+			minimumQueue[(queueFront + queueSize) % length] = sequence;
+			queueSize++;
+		}
+	}
+
+	/**
+	 * @return The smallest value in the history.
+	 */
+	public double getMinimum() {
+
+		if (minimumQueue == null) {
+			throw new IllegalStateException("The minimum of this history is not tracked");
+		}
+		return valueOf(minimumQueue[queueFront]);
+	}
+
+	public int getLength() {
+		return values.length;
+	}
+
+	private double valueOf(long sequence) {
+		return values[(int) (sequence % values.length)];
+	}
+}
@@ -1,17 +1,20 @@
 package com.aim.metaheuristics.singlepoint.lateacceptance;
 
+import com.aim.metaheuristics.singlepoint.MoveJournal;
+import com.aim.profiling.SearchIterationEvent;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.searchmethods.SinglePointSearchMethod;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.Random;
 
 public class LateAcceptance extends SinglePointSearchMethod {
 
     private final int oLength;
-    private final Queue<Double> candidateSolutions;
+    private final FitnessHistory candidateSolutions;
+
+    // flips made since the last accept/reject, replayed instead of copying solutions
+    private final MoveJournal journal;
 
     /**
      * Creates a search method with a population size of 2; one for the current solution,
@@ -24,14 +27,12 @@ public class LateAcceptance extends SinglePointSearchMethod {
     public LateAcceptance(SAT problem, Random random, int length) {
         super(problem, random);
         this.oLength = length;
+        this.journal = new MoveJournal(problem, 1);
 
-        // initialise the queue
-        this.candidateSolutions = new LinkedList<>();
+        // initialise the history
         double initialObjectiveValue = problem.getObjectiveFunctionValue
                 (SATHeuristic.CURRENT_SOLUTION_INDEX);
-        for (int i = 0; i < oLength; i++) {
-            candidateSolutions.offer(initialObjectiveValue);
-        }
+        this.candidateSolutions = new FitnessHistory(oLength, initialObjectiveValue, false);
     }
 
     /**
@@ -43,11 +44,14 @@ public class LateAcceptance extends SinglePointSearchMethod {
      */
     @Override
     protected void runMainLoop() {
+        SearchIterationEvent event = new SearchIterationEvent();
+        event.begin();
+
         // Get the objective value of the current solution
 //        double currentObjectiveValue = problem.getObjectiveFunctionValue
 //                (SATHeuristic.CURRENT_SOLUTION_INDEX);
         // Get the objective value of the compared solution
-        double comparedObjectiveValue = candidateSolutions.poll();
+        double comparedObjectiveValue = candidateSolutions.getOldest();
 
         // Perform random bit flip on current solution
         randomBitFlip(problem);
@@ -57,16 +61,17 @@ public class LateAcceptance extends SinglePointSearchMethod {
                 (SATHeuristic.CURRENT_SOLUTION_INDEX);
 
         // Check whether to accept the new solution
-        //candidateSolutions.offer(Math.min(newObjectiveValue, comparedObjectiveValue));
-        if (newObjectiveValue <= comparedObjectiveValue) {
-            candidateSolutions.offer(newObjectiveValue);
-            problem.copySolution(SATHeuristic.CURRENT_SOLUTION_INDEX,
-                    SATHeuristic.BACKUP_SOLUTION_INDEX);
+        //candidateSolutions.record(Math.min(newObjectiveValue, comparedObjectiveValue));
+        boolean accepted = newObjectiveValue <= comparedObjectiveValue;
+        if (accepted) {
+            candidateSolutions.record(newObjectiveValue);
+            journal.accept();
         } else {
-            candidateSolutions.offer(comparedObjectiveValue);
-            problem.copySolution(SATHeuristic.BACKUP_SOLUTION_INDEX,
-                    SATHeuristic.CURRENT_SOLUTION_INDEX);
+            candidateSolutions.record(comparedObjectiveValue);
+            journal.reject();
         }
+
+        event.complete(this, comparedObjectiveValue, newObjectiveValue, accepted);
     }
 
     private void randomBitFlip(SAT problem) {
@@ -74,7 +79,7 @@ public class LateAcceptance extends SinglePointSearchMethod {
         int length = problem.getNumberOfVariables();
         int randomIndex = random.nextInt(length);
         // flip the bit
-        problem.bitFlip(randomIndex, SATHeuristic.CURRENT_SOLUTION_INDEX);
+        journal.bitFlip(randomIndex);
     }
 
     public String toString() {
@@ -0,0 +1,63 @@
+package com.aim.metaheuristics.singlepoint.simulatedannealing;
+
+import java.util.Arrays;
+
+/**
+ * Caches the Boltzmann acceptance probabilities e^(-delta/T) for small integer deltas,
+ * which are the only deltas a single bit flip can produce on MAX-SAT.
+ *
+ * Entries are filled lazily and invalidated in O(1) by bumping an epoch whenever the
+ * temperature actually changes. This only pays off while the temperature is held for many
+ * iterations, e.g. the {@link FixedTemperature} of a parallel tempering replica; with a
+ * schedule that changes T every iteration every lookup is a miss.
+ */
+public class AcceptanceProbabilityCache {
+
+	private final double[] probabilities;
+
+	/**
+	 * The epoch in which each entry was computed.
+	 */
+	private final int[] computedIn;
+
+	private int epoch = 1;
+
+	private double temperature = Double.NaN;
+
+	/**
+	 * @param maxDelta The largest integer delta to cache, larger deltas are computed directly.
+	 */
+	public AcceptanceProbabilityCache(int maxDelta) {
+
+		this.probabilities = new double[maxDelta + 1];
+		this.computedIn = new int[maxDelta + 1];
+	}
+
+	/**
+	 * @param delta The (non-negative) worsening of the objective value.
+	 * @param currentTemperature The current temperature.
+	 * @return e^(-delta / currentTemperature)
+	 */
+	public double getProbability(double delta, double currentTemperature) {
+
+		if (Double.compare(currentTemperature, temperature) != 0) {
+			temperature = currentTemperature;
+			if (++epoch == 0) {
+				// the epoch wrapped around, forget every entry rather than risk reusing one
+				Arrays.fill(computedIn, 0);
+				epoch = 1;
+			}
+		}
+
+		int k = (int) delta;
+		if (k != delta || k < 0 || k >= probabilities.length) {
+			return Math.exp(-delta / currentTemperature);
+		}
+
+		if (computedIn[k] != epoch) {
+			probabilities[k] = Math.exp(-delta / currentTemperature);
+			computedIn[k] = epoch;
+		}
+		return probabilities[k];
+	}
+}
@@ -0,0 +1,42 @@
+package com.aim.metaheuristics.singlepoint.simulatedannealing;
+
+/**
+ * A constant temperature that is only changed from outside, e.g. when parallel
+ * tempering exchanges the temperatures of two replicas.
+ */
+public class FixedTemperature implements CoolingSchedule {
+
+	/**
+	 * Maintain the state of the current temperature, written by the exchanging thread
+	 * and read by the replica's thread.
+	 */
+	private volatile double dCurrentTemperature;
+
+	/**
+	 * @param temperature The temperature.
+	 */
+	public FixedTemperature(double temperature) {
+		this.dCurrentTemperature = temperature;
+	}
+
+	@Override
+	public double getCurrentTemperature() {
+		return dCurrentTemperature;
+	}
+
+	/**
+	 * DEFINITION: T_{i + 1} = T_i
+	 */
+	@Override
+	public void advanceTemperature() {
+	}
+
+	public void setTemperature(double temperature) {
+		this.dCurrentTemperature = temperature;
+	}
+
+	@Override
+	public String toString() {
+		return "Fixed Temperature";
+	}
+}
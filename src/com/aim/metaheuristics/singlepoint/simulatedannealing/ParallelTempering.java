@@ -0,0 +1,271 @@
+package com.aim.metaheuristics.singlepoint.simulatedannealing;
+
+import com.aim.TrialMetrics;
+import com.aim.random.RandomStreams;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * Parallel tempering (replica exchange) built on {@link SimulatedAnnealing}.
+ *
+ * K replicas, each with its own problem and random number generator, run the existing
+ * simulated annealing acceptance at fixed temperatures on their own thread. Every
+ * <code>sweepLength</code> iterations all replicas meet at a {@link Phaser}; the last one to
+ * arrive attempts to swap neighbouring rungs of the temperature ladder using the Metropolis
+ * criterion min(1, exp((1/T_i - 1/T_j)(E_i - E_j))). Swaps exchange temperatures rather than
+ * solutions, so the hand-off is a pair of volatile writes while the other replicas are parked.
+ *
+ * The energy of a replica is the value returned by {@link SimulatedAnnealing#run()}, which as
+ * for every {@link uk.ac.nott.cs.aim.searchmethods.SearchMethod} is the objective value of the
+ * solution in CURRENT_SOLUTION_INDEX after the iteration, not the best value found so far.
+ *
+ * The search stops once the termination condition of any replica is met. Iterations are
+ * counted in the {@link TrialMetrics} of each replica's problem, if it has any.
+ */
+public class ParallelTempering {
+
+	private final SAT[] replicas;
+
+	private final SimulatedAnnealing[] chains;
+
+	private final FixedTemperature[] temperatures;
+
+	/**
+	 * The temperature of each rung of the ladder, coldest first.
+	 */
+	private final double[] ladder;
+
+	/**
+	 * replicaAt[r] is the replica currently at rung r of the ladder.
+	 */
+	private final int[] replicaAt;
+
+	/**
+	 * Objective value of each replica at the last exchange point.
+	 */
+	private final double[] energies;
+
+	private final boolean[] expired;
+
+	/**
+	 * Creates the termination condition of a replica, called on the thread that runs it.
+	 */
+	private final Function<SAT, BooleanSupplier> terminationFactory;
+
+	/**
+	 * Receives the energy of the replica at the coldest rung after every exchange.
+	 */
+	private final DoubleConsumer exchangeListener;
+
+	private final int sweepLength;
+
+	private final Random random;
+
+	private int exchangeRound = 0;
+
+	private long attemptedSwaps = 0;
+
+	private long acceptedSwaps = 0;
+
+	/**
+	 * @param problemFactory Creates the problem of one replica from its random number generator.
+	 * @param random The random number generator used to seed the replicas and decide swaps.
+	 * @param ladder The temperatures of the replicas, all strictly positive, coldest first.
+	 * @param sweepLength The number of iterations each replica performs between exchange attempts.
+	 */
+	public ParallelTempering(Function<Random, SAT> problemFactory, Random random, double[] ladder, int sweepLength) {
+		this(problemFactory, problem -> problem::hasTimeExpired, value -> { }, random, ladder, sweepLength);
+	}
+
+	/**
+	 * @param problemFactory Creates the problem of one replica from its random number generator.
+	 * @param terminationFactory Creates the termination condition of a replica from its problem,
+	 *        called on the thread that runs the replica.
+	 * @param exchangeListener Receives the energy of the replica at the coldest rung after every exchange.
+	 * @param random The random number generator used to seed the replicas and decide swaps.
+	 * @param ladder The temperatures of the replicas, all strictly positive, coldest first.
+	 * @param sweepLength The number of iterations each replica performs between exchange attempts.
+	 */
+	public ParallelTempering(Function<Random, SAT> problemFactory, Function<SAT, BooleanSupplier> terminationFactory,
+			DoubleConsumer exchangeListener, Random random, double[] ladder, int sweepLength) {
+
+		int k = ladder.length;
+		this.terminationFactory = terminationFactory;
+		this.exchangeListener = exchangeListener;
+		this.random = random;
+		this.ladder = ladder.clone();
+		this.sweepLength = sweepLength;
+		this.replicas = new SAT[k];
+		this.chains = new SimulatedAnnealing[k];
+		this.temperatures = new FixedTemperature[k];
+		this.replicaAt = new int[k];
+		this.energies = new double[k];
+		this.expired = new boolean[k];
+
+		for (int r = 0; r < k; r++) {
+			if (!(ladder[r] > 0)) {
+				throw new IllegalArgumentException("Temperature " + ladder[r] + " of rung " + r + " must be positive");
+			}
+			Random replicaRandom = RandomStreams.split(random);
+			replicas[r] = problemFactory.apply(replicaRandom);
+			temperatures[r] = new FixedTemperature(ladder[r]);
+			chains[r] = new SimulatedAnnealing(temperatures[r], replicas[r], replicaRandom);
+			energies[r] = replicas[r].getObjectiveFunctionValue(SATHeuristic.CURRENT_SOLUTION_INDEX);
+			replicaAt[r] = r;
+		}
+	}
+
+	/**
+	 * Creates a geometric temperature ladder, T_r = tMin * (tMax / tMin)^(r / (k - 1)).
+	 *
+	 * @param tMin The coldest temperature.
+	 * @param tMax The hottest temperature.
+	 * @param k The number of rungs.
+	 * @return The temperatures, coldest first.
+	 */
+	public static double[] geometricLadder(double tMin, double tMax, int k) {
+
+		double[] ladder = new double[k];
+		for (int r = 0; r < k; r++) {
+			ladder[r] = k == 1 ? tMin : tMin * Math.pow(tMax / tMin, (double) r / (k - 1));
+		}
+		return ladder;
+	}
+
+	/**
+	 * Runs all replicas until the time of any of them has expired.
+	 *
+	 * @return The best objective value found by any replica.
+	 */
+	public double run() {
+
+		int k = replicas.length;
+		Phaser exchange = new Phaser(k) {
+			@Override
+			protected boolean onAdvance(int phase, int registeredParties) {
+				return exchangeTemperatures();
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(k);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < k; i++) {
+				int replica = i;
+				futures.add(executor.submit(() -> runReplica(replica, exchange)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			exchange.forceTermination();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A parallel tempering replica failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return getBestSolutionValue();
+	}
+
+	private void runReplica(int replica, Phaser exchange) {
+
+		SimulatedAnnealing chain = chains[replica];
+		TrialMetrics metrics = TrialMetrics.of(replicas[replica]);
+		try {
+			BooleanSupplier termination = terminationFactory.apply(replicas[replica]);
+			boolean hasExpired = false;
+			while (!exchange.isTerminated()) {
+				double energy = energies[replica];
+				for (int i = 0; i < sweepLength && !(hasExpired = termination.getAsBoolean()); i++) {
+					energy = chain.run();
+					if (metrics != null) {
+						metrics.recordIteration();
+					}
+				}
+				energies[replica] = energy;
+				expired[replica] = hasExpired;
+				exchange.arriveAndAwaitAdvance();
+			}
+		} catch (RuntimeException e) {
+			exchange.forceTermination();
+			throw e;
+		}
+	}
+
+	/**
+	 * Attempts swaps between neighbouring rungs, alternating between even and odd pairs.
+	 * Called by the last replica to arrive while all others are waiting.
+	 *
+	 * @return true if the search should terminate.
+	 */
+	private boolean exchangeTemperatures() {
+
+		for (boolean isExpired : expired) {
+			if (isExpired) {
+				return true;
+			}
+		}
+
+		for (int r = exchangeRound & 1; r + 1 < ladder.length; r += 2) {
+			int cold = replicaAt[r];
+			int hot = replicaAt[r + 1];
+			double exponent = (1.0d / ladder[r] - 1.0d / ladder[r + 1]) * (energies[cold] - energies[hot]);
+			attemptedSwaps++;
+			if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+				replicaAt[r] = hot;
+				replicaAt[r + 1] = cold;
+				temperatures[hot].setTemperature(ladder[r]);
+				temperatures[cold].setTemperature(ladder[r + 1]);
+				acceptedSwaps++;
+			}
+		}
+		exchangeRound++;
+		exchangeListener.accept(energies[replicaAt[0]]);
+
+		return false;
+	}
+
+	private SAT getBestReplica() {
+
+		SAT best = replicas[0];
+		for (SAT replica : replicas) {
+			if (replica.getBestSolutionValue() < best.getBestSolutionValue()) {
+				best = replica;
+			}
+		}
+		return best;
+	}
+
+	public double getBestSolutionValue() {
+		return getBestReplica().getBestSolutionValue();
+	}
+
+	public String getBestSolutionAsString() {
+		return getBestReplica().getBestSolutionAsString();
+	}
+
+	/**
+	 * @return The fraction of attempted replica exchanges that were accepted.
+	 */
+	public double getSwapAcceptanceRate() {
+		return attemptedSwaps == 0 ? 0 : (double) acceptedSwaps / attemptedSwaps;
+	}
+
+	public String toString() {
+		return "Parallel Tempering with " + replicas.length + " replicas";
+	}
+}
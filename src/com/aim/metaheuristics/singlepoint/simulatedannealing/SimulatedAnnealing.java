@@ -1,5 +1,8 @@
 package com.aim.metaheuristics.singlepoint.simulatedannealing;
 
+import com.aim.metaheuristics.singlepoint.MoveJournal;
+import com.aim.profiling.SearchIterationEvent;
+import com.aim.profiling.TemperatureAdvanceEvent;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.searchmethods.SinglePointSearchMethod;
@@ -8,10 +11,19 @@ import java.util.Random;
 
 public class SimulatedAnnealing extends SinglePointSearchMethod {
 	private final CoolingSchedule oCoolingSchedule;
+
+	// flips made since the last accept/reject, replayed instead of copying solutions
+	private final MoveJournal journal;
+
+	// e^(-delta/T) for the small integer deltas of a single bit flip, only for temperatures
+	// held across iterations; null for schedules that change T every iteration
+	private final AcceptanceProbabilityCache acceptance;
 	
 	public SimulatedAnnealing(CoolingSchedule schedule, SAT problem, Random random) {
 		super(problem, random);
 		this.oCoolingSchedule = schedule;
+		this.journal = new MoveJournal(problem, 1);
+		this.acceptance = schedule instanceof FixedTemperature ? new AcceptanceProbabilityCache(64) : null;
 	}
 
 	/**
@@ -50,6 +62,9 @@ public class SimulatedAnnealing extends SinglePointSearchMethod {
 	 * Here, P is the probability function e^(-delta/T)
 	 */
 	protected void runMainLoop() {
+		SearchIterationEvent event = new SearchIterationEvent();
+		event.begin();
+
 		// Get the objective value of the current solution
 		double currentObjectiveValue = problem.getObjectiveFunctionValue
 				(SATHeuristic.CURRENT_SOLUTION_INDEX);
@@ -67,19 +82,31 @@ public class SimulatedAnnealing extends SinglePointSearchMethod {
 		double r = random.nextDouble();
 
 		// Check whether to accept the new solution
-		if (delta < 0 || r < Math.exp(-delta / oCoolingSchedule.getCurrentTemperature())) {
+		boolean accepted = delta < 0 || r < getAcceptanceProbability(delta);
+		if (accepted) {
 			// If the new solution is better or accepted with probability
-			// Copy the current solution to the backup solution
-			problem.copySolution(SATHeuristic.CURRENT_SOLUTION_INDEX,
-					SATHeuristic.BACKUP_SOLUTION_INDEX);
+			// Replay the flip on the backup solution
+			journal.accept();
 		} else {
 			// reject
-			problem.copySolution(SATHeuristic.BACKUP_SOLUTION_INDEX,
-					SATHeuristic.CURRENT_SOLUTION_INDEX);
+			journal.reject();
 		}
 
 		// Update the temperature
+		TemperatureAdvanceEvent advance = new TemperatureAdvanceEvent();
+		double temperature = oCoolingSchedule.getCurrentTemperature();
+		advance.begin();
 		oCoolingSchedule.advanceTemperature();
+		advance.complete(oCoolingSchedule, temperature, oCoolingSchedule.getCurrentTemperature(),
+				accepted ? newObjectiveValue : currentObjectiveValue);
+
+		event.complete(this, currentObjectiveValue, newObjectiveValue, accepted);
+	}
+
+	private double getAcceptanceProbability(double delta) {
+
+		double temperature = oCoolingSchedule.getCurrentTemperature();
+		return acceptance == null ? Math.exp(-delta / temperature) : acceptance.getProbability(delta, temperature);
 	}
 
 	private void randomBitFlip(SAT problem) {
@@ -87,7 +114,7 @@ public class SimulatedAnnealing extends SinglePointSearchMethod {
 		int length = problem.getNumberOfVariables();
 		int randomIndex = random.nextInt(length);
 		// flip the bit
-		problem.bitFlip(randomIndex, SATHeuristic.CURRENT_SOLUTION_INDEX);
+		journal.bitFlip(randomIndex);
 	}
 
 	public String toString() {
@@ -0,0 +1,52 @@
+package com.aim.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One generation of a population based search method, from parent selection to the end of
+ * population replacement. Disabled by default.
+ *
+ * The objective values are those of the best solution found so far, which the problem keeps
+ * track of, so recording the event does not evaluate any solutions.
+ */
+@Name("com.aim.Generation")
+@Label("Generation")
+@Category({ "AIM", "Population Search" })
+@Description("One generation of a population based search method")
+@Enabled(false)
+@StackTrace(false)
+public class GenerationEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Best Objective Before")
+	double objectiveBefore;
+
+	@Label("Best Objective After")
+	double objectiveAfter;
+
+	/**
+	 * Ends the event and commits it if it is enabled and exceeds its threshold.
+	 *
+	 * @param method The search method, whose name is only built if the event is committed.
+	 * @param objectiveBefore The best objective value found before the generation.
+	 * @param objectiveAfter The best objective value found after the generation.
+	 */
+	public void complete(Object method, double objectiveBefore, double objectiveAfter) {
+
+		end();
+		if (shouldCommit()) {
+			this.method = String.valueOf(method);
+			this.objectiveBefore = objectiveBefore;
+			this.objectiveAfter = objectiveAfter;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.aim.profiling;
+
+import com.aim.InstrumentedSAT;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
+
+/**
+ * One application of a local search operator to one offspring. Disabled by default.
+ */
+@Name("com.aim.LocalSearchPass")
+@Label("Local Search Pass")
+@Category({ "AIM", "Population Search" })
+@Description("One application of a local search operator to an offspring")
+@Enabled(false)
+@StackTrace(false)
+public class LocalSearchPassEvent extends Event {
+
+	@Label("Heuristic")
+	String heuristic;
+
+	@Label("Memory Index")
+	int memoryIndex;
+
+	@Label("Objective Before")
+	double objectiveBefore;
+
+	@Label("Objective After")
+	double objectiveAfter;
+
+	/**
+	 * Applies the local search operator to the solution in <code>memoryIndex</code>.
+	 *
+	 * While the event is enabled, the solution is evaluated before and after the pass (outside
+	 * of its duration); an instrumented problem does not count these evaluations.
+	 *
+	 * @param problem The problem holding the solution.
+	 * @param heuristic The local search operator.
+	 * @param memoryIndex The memory index of the solution.
+	 */
+	public static void apply(SAT problem, PopulationHeuristic heuristic, int memoryIndex) {
+
+		LocalSearchPassEvent event = new LocalSearchPassEvent();
+		if (!event.isEnabled()) {
+			heuristic.applyHeuristic(memoryIndex);
+			return;
+		}
+
+		double objectiveBefore = InstrumentedSAT.traceValueOf(problem, memoryIndex);
+		event.begin();
+		heuristic.applyHeuristic(memoryIndex);
+		event.end();
+		if (event.shouldCommit()) {
+			event.heuristic = heuristic.getClass().getSimpleName();
+			event.memoryIndex = memoryIndex;
+			event.objectiveBefore = objectiveBefore;
+			event.objectiveAfter = InstrumentedSAT.traceValueOf(problem, memoryIndex);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Ends the event and commits it if it is enabled and exceeds its threshold. For operators
+	 * whose objective values are known without evaluating the solution.
+	 *
+	 * @param heuristic The local search operator, whose name is only built if the event is committed.
+	 * @param memoryIndex The memory index of the solution.
+	 * @param objectiveBefore The objective value of the solution before the pass.
+	 * @param objectiveAfter The objective value of the solution after the pass.
+	 */
+	public void complete(Object heuristic, int memoryIndex, double objectiveBefore, double objectiveAfter) {
+
+		end();
+		if (shouldCommit()) {
+			this.heuristic = heuristic.getClass().getSimpleName();
+			this.memoryIndex = memoryIndex;
+			this.objectiveBefore = objectiveBefore;
+			this.objectiveAfter = objectiveAfter;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.aim.profiling;
+
+import com.aim.InstrumentedSAT;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationReplacement;
+
+/**
+ * One population replacement. Disabled by default.
+ */
+@Name("com.aim.Replacement")
+@Label("Replacement")
+@Category({ "AIM", "Population Search" })
+@Description("One population replacement")
+@Enabled(false)
+@StackTrace(false)
+public class ReplacementEvent extends Event {
+
+	@Label("Replacement")
+	String replacement;
+
+	@Label("Best Parent Before")
+	double objectiveBefore;
+
+	@Label("Best Parent After")
+	double objectiveAfter;
+
+	/**
+	 * Replaces the parent population.
+	 *
+	 * While the event is enabled, the parents are evaluated before and after the replacement
+	 * (outside of its duration); an instrumented problem does not count these evaluations.
+	 *
+	 * @param problem The problem holding the population.
+	 * @param replacement The replacement operator.
+	 * @param populationSize The number of parents.
+	 */
+	public static void apply(SAT problem, PopulationReplacement replacement, int populationSize) {
+
+		ReplacementEvent event = new ReplacementEvent();
+		if (!event.isEnabled()) {
+			replacement.doReplacement(problem, populationSize);
+			return;
+		}
+
+		double objectiveBefore = getBestParent(problem, populationSize);
+		event.begin();
+		replacement.doReplacement(problem, populationSize);
+		event.end();
+		if (event.shouldCommit()) {
+			event.replacement = replacement.getClass().getSimpleName();
+			event.objectiveBefore = objectiveBefore;
+			event.objectiveAfter = getBestParent(problem, populationSize);
+			event.commit();
+		}
+	}
+
+	private static double getBestParent(SAT problem, int populationSize) {
+
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < populationSize; i++) {
+			best = Math.min(best, InstrumentedSAT.traceValueOf(problem, i));
+		}
+		return best;
+	}
+}
@@ -0,0 +1,58 @@
+package com.aim.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One iteration of the main loop of a single point search method, from before its move to
+ * after the accept/reject decision.
+ *
+ * Disabled by default. While it is disabled, or no recording is running, creating, beginning
+ * and completing the event cost next to nothing.
+ */
+@Name("com.aim.SearchIteration")
+@Label("Search Iteration")
+@Category({ "AIM", "Single Point Search" })
+@Description("One iteration of a single point search method")
+@Enabled(false)
+@StackTrace(false)
+public class SearchIterationEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Objective Before")
+	double objectiveBefore;
+
+	@Label("Objective After")
+	@Description("The objective value of the candidate solution")
+	double objectiveAfter;
+
+	@Label("Accepted")
+	boolean accepted;
+
+	/**
+	 * Ends the event and commits it if it is enabled and exceeds its threshold.
+	 *
+	 * @param method The search method, whose name is only built if the event is committed.
+	 * @param objectiveBefore The objective value of the solution-in-hand before the move.
+	 * @param objectiveAfter The objective value of the candidate solution.
+	 * @param accepted Whether the candidate solution was accepted.
+	 */
+	public void complete(Object method, double objectiveBefore, double objectiveAfter, boolean accepted) {
+
+		end();
+		if (shouldCommit()) {
+			this.method = String.valueOf(method);
+			this.objectiveBefore = objectiveBefore;
+			this.objectiveAfter = objectiveAfter;
+			this.accepted = accepted;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.aim.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One step of a simulated annealing cooling schedule. Disabled by default.
+ */
+@Name("com.aim.TemperatureAdvance")
+@Label("Temperature Advance")
+@Category({ "AIM", "Single Point Search" })
+@Description("One step of a cooling schedule")
+@Enabled(false)
+@StackTrace(false)
+public class TemperatureAdvanceEvent extends Event {
+
+	@Label("Cooling Schedule")
+	String schedule;
+
+	@Label("Temperature Before")
+	double temperatureBefore;
+
+	@Label("Temperature After")
+	double temperatureAfter;
+
+	@Label("Objective")
+	@Description("The objective value of the solution-in-hand")
+	double objective;
+
+	/**
+	 * Ends the event and commits it if it is enabled and exceeds its threshold.
+	 *
+	 * @param schedule The cooling schedule, whose name is only built if the event is committed.
+	 * @param temperatureBefore The temperature before the step.
+	 * @param temperatureAfter The temperature after the step.
+	 * @param objective The objective value of the solution-in-hand.
+	 */
+	public void complete(Object schedule, double temperatureBefore, double temperatureAfter, double objective) {
+
+		end();
+		if (shouldCommit()) {
+			this.schedule = String.valueOf(schedule);
+			this.temperatureBefore = temperatureBefore;
+			this.temperatureAfter = temperatureAfter;
+			this.objective = objective;
+			commit();
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.aim.pseudorandom;
 import java.util.Random;
+import java.util.function.BooleanSupplier;
 
+import com.aim.TrialMetrics;
 import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 
@@ -39,20 +41,31 @@ public class RandomWalk {
 	}
 	
 	public void run() {
+		run(sat::hasTimeExpired);
+	}
+
+	/**
+	 * @param hasExpired Whether the walk should stop, checked before every step.
+	 */
+	public void run(BooleanSupplier hasExpired) {
 		
 		long start = System.currentTimeMillis();
+		TrialMetrics metrics = TrialMetrics.of(sat);
 		
 		// initialise a solution as a random bit string
 		sat.createRandomSolution(SINGLE_POINT_SOLUTION_INDEX);
 		
 		// apply the search method until the time runs out
-		while(!sat.hasTimeExpired()) {
+		while(!hasExpired.getAsBoolean()) {
 			
 			// applies the bit flip operator to the solution
 			randomBitFlip.applyHeuristic(sat);
 			
 			// call required for termination criteria but not used in random walk
 			sat.getObjectiveFunctionValue(SINGLE_POINT_SOLUTION_INDEX);
+			if (metrics != null) {
+				metrics.recordIteration();
+			}
 		}
 		
 		long end = System.currentTimeMillis();
@@ -0,0 +1,63 @@
+package com.aim.random;
+
+import com.aim.ExperimentalSettings;
+
+import java.util.Random;
+
+/**
+ * Creates and derives the random number generators of trials and their parallel tasks.
+ *
+ * With {@link ExperimentalSettings#ENABLE_SPLITTABLE_RANDOM_STREAMS} every generator is a
+ * {@link SplittableRandomStream}; otherwise the original <code>java.util.Random</code>
+ * seeding is used so earlier results can be reproduced.
+ */
+public final class RandomStreams {
+
+	private RandomStreams() {
+	}
+
+	/**
+	 * @param seed The configured seed.
+	 * @return The random number generator of a trial.
+	 */
+	public static Random create(long seed) {
+		return ExperimentalSettings.ENABLE_SPLITTABLE_RANDOM_STREAMS ? new SplittableRandomStream(seed) : new Random(seed);
+	}
+
+	/**
+	 * Derives an independent generator for a replica, walker or island from its parent.
+	 * Must be called on the thread that owns <code>random</code>, in a fixed order.
+	 *
+	 * @param random The parent generator.
+	 * @return A new generator not shared with the parent.
+	 */
+	public static Random split(Random random) {
+
+		if (random instanceof SplittableRandomStream stream) {
+			return stream.split();
+		}
+		return new Random(random.nextLong());
+	}
+
+	/**
+	 * Derives the generator of one of several tasks run concurrently from a seed drawn by
+	 * their parent, independent of which thread runs the task or in which order.
+	 *
+	 * @param seed The seed drawn by the parent.
+	 * @param task The index of the task.
+	 * @return The generator of the task.
+	 */
+	public static Random forTask(long seed, int task) {
+		return create(mix(seed + (task + 1) * 0x9E3779B97F4A7C15L));
+	}
+
+	/**
+	 * SplitMix64 finaliser, giving well separated seeds for consecutive tasks.
+	 */
+	private static long mix(long z) {
+
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
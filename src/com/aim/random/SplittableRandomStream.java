@@ -0,0 +1,105 @@
+package com.aim.random;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A {@link Random} backed by an L64X128MixRandom generator, usable wherever the framework
+ * expects a <code>java.util.Random</code>.
+ *
+ * Unlike <code>java.util.Random</code>, whose seed is an <code>AtomicLong</code> updated with a
+ * compare-and-set on every draw, this stream is not thread safe: each trial, replica or
+ * parallel task is given its own stream with {@link #split()} instead of sharing one.
+ * Streams created from the same seed, and split in the same order, produce the same values.
+ * Streams are not serializable, although Random is.
+ */
+@SuppressWarnings("serial")
+public class SplittableRandomStream extends Random {
+
+	private static final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> FACTORY =
+			RandomGeneratorFactory.of("L64X128MixRandom");
+
+	private RandomGenerator.SplittableGenerator generator;
+
+	/**
+	 * False while the Random constructor runs, so that its call to {@link #setSeed(long)} does
+	 * not create a generator; deliberately without an initialiser, which would run afterwards.
+	 */
+	private boolean initialised;
+
+	/**
+	 * @param seed The seed of the stream.
+	 */
+	public SplittableRandomStream(long seed) {
+		super(seed);
+		this.generator = FACTORY.create(seed);
+		this.initialised = true;
+	}
+
+	private SplittableRandomStream(RandomGenerator.SplittableGenerator generator) {
+		super(0L);
+		this.generator = generator;
+		this.initialised = true;
+	}
+
+	/**
+	 * @return A new, statistically independent stream; this stream advances by one split.
+	 */
+	public SplittableRandomStream split() {
+		return new SplittableRandomStream(generator.split());
+	}
+
+	@Override
+	public void setSeed(long seed) {
+
+		if (initialised) {
+			generator = FACTORY.create(seed);
+		}
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (generator.nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public int nextInt() {
+		return generator.nextInt();
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return generator.nextInt(bound);
+	}
+
+	@Override
+	public long nextLong() {
+		return generator.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return generator.nextBoolean();
+	}
+
+	@Override
+	public float nextFloat() {
+		return generator.nextFloat();
+	}
+
+	@Override
+	public double nextDouble() {
+		return generator.nextDouble();
+	}
+
+	@Override
+	public double nextGaussian() {
+		return generator.nextGaussian();
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		generator.nextBytes(bytes);
+	}
+}
@@ -1,14 +1,14 @@
 package com.aim.runners;
 
 import java.util.Random;
-import java.util.stream.IntStream;
 
+import com.aim.InstrumentedSAT;
+import com.aim.TerminationController;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
 
 import com.aim.pseudorandom.RandomWalk;
 import com.aim.pseudorandom.Result;
-import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 
 /**
  * Class for running the experiment(s) in Lab 0.
@@ -26,20 +26,25 @@ public class Exercise0Runner extends TestFrame {
 	}
 
 	/**
+	 * Runs a random walk on the configured instance until the configured termination criterion
+	 * is met, logging the metrics of the trial.
 	 * 
-	 * @param seed
-	 * @param instance
-	 * @param timeLimit
+	 * @param trialId The trial ID, selecting the experimental seed.
 	 * @return
 	 */
-	public Result runTest(int trialId, long seed, int instance, int timeLimit) {
+	public Result runTest(int trialId) {
 
-		Random random = new Random(seed);
-		SAT sat = new SAT(instance, timeLimit, random);
+		TestFrameConfig oTestConfiguration = getTestConfiguration();
+		Random random = createRandom(trialId);
+		InstrumentedSAT sat = createProblem(random);
+		TerminationController termination = createTerminationController(sat);
 		RandomWalk rw = new RandomWalk(sat, random);
-		rw.run();
+		rw.run(termination::hasExpired);
+		logMetrics("Random Walk", trialId, sat.getMetrics());
 		
-		return new Result(sat.toString(), instance, trialId, seed, sat.getBestSolutionValue(), rw.getTimeTaken(), timeLimit);
+		return new Result(sat.toString(), oTestConfiguration.getInstanceId(), trialId,
+				getExperimentalSeeds()[trialId], sat.getBestSolutionValue(), rw.getTimeTaken(),
+				oTestConfiguration.getRunTime());
 	}
 
 	/**
@@ -56,19 +61,11 @@ public class Exercise0Runner extends TestFrame {
 	@Override
 	public void runTests() {
 
-		TestFrameConfig oTestConfiguration = getTestConfiguration();
-
-		final int instance = oTestConfiguration.getInstanceId();
-		final int timeLimit = oTestConfiguration.getRunTime();
-		final int totalRuns = oTestConfiguration.getTotalRuns();
-		final long[] seeds = getExperimentalSeeds();
-
 		System.out.println(getTestConfiguration().getConfigurationAsString());
 		System.out.println("seed, f_best, time_taken(CPU seconds)," +
 				"time_taken(nominal seconds)");
 
-		runUsingExperimentalParallelism(IntStream.range(0, totalRuns).boxed())
-				.map(i -> runTest(i, seeds[i], instance, timeLimit)).forEachOrdered(this::printResult);
+		runUsingExperimentScheduler(1, trial -> runTest(trial.trialId())).forEach(this::printResult);
 	}
 
 	/**
@@ -1,16 +1,18 @@
 package com.aim.runners;
 
+import com.aim.FitnessTrace;
+import com.aim.InstrumentedSAT;
+import com.aim.PlotDownsampler;
 import com.aim.RunData;
+import com.aim.TerminationController;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
-import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.statistics.PlotData;
 import uk.ac.nott.cs.aim.statistics.XBoxPlot;
 import uk.ac.nott.cs.aim.statistics.XLineChart;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -49,12 +51,9 @@ public class Exercise1Runner extends TestFrame {
 	 * progress charts.
 	 */
 	public void runTests() {
-		// execute the experiments
-		List<RunData> oRunData = runUsingExperimentalParallelism(
-				rangeAsStream(0, NUMBER_OF_HEURISTICS_TO_TEST - 1))
-				.map(this::runExperimentsForHeuristicId)
-				.flatMap(Collection::stream)
-				.toList();
+		// execute every trial of every heuristic as one flat queue of tasks
+		List<RunData> oRunData = runUsingExperimentScheduler(NUMBER_OF_HEURISTICS_TO_TEST,
+				trial -> runExperiment(trial.trialId(), trial.heuristicId()));
 
 		// generate boxplots
 		List<PlotData> oPlotData = new ArrayList<PlotData>();
@@ -93,20 +92,20 @@ public class Exercise1Runner extends TestFrame {
 					.get()
 					.getHeuristicName();
 
+			// the trials of the current heuristic share the iterations per plotted point
+			List<RunData> oHeuristicRunData = oRunData.stream()
+					.filter(f->f.getHeuristicId() == id).toList();
+			long stride = PlotDownsampler.stride(oHeuristicRunData);
+
 			// set up plot labels
 			String strTitle = "Comparison of the fitness traces of " +
 					strHeuristicName;
-			String strXLabel = "Iteration";
+			String strXLabel = PlotDownsampler.axisLabel(stride);
 			String strYLabel = "Objective value";
 			
 			// create a list of progress plots for the current heuristic
-			List<PlotData> oProgressPlotData = new ArrayList<>();
-			oRunData.stream()
-				.filter(f->f.getHeuristicId() == id)
-				.forEach( data -> {
-					oProgressPlotData.add(new PlotData(data.getData(),
-							String.format("Trial #%d", data.getTrialId())));
-				});
+			List<PlotData> oProgressPlotData = PlotDownsampler.toPlotData(oHeuristicRunData,
+					data -> String.format("Trial #%d", data.getTrialId()), stride);
 			
 			// creates and shows the plot
 			XLineChart.getPlotCreator().createChart
@@ -122,12 +121,8 @@ public class Exercise1Runner extends TestFrame {
 	 */
 	public List<RunData> runExperimentsForHeuristicId(int heuristicId) {
 		// runs the experiments over 'getTestConfiguration().getTotalRuns()'
-		// trials either synchronous or in parallel
-		// as defined in ExperimentalSettings.java
-		return runUsingExperimentalParallelism(rangeAsStream
-				(0, getTestConfiguration().getTotalRuns() - 1))
-				.map(run -> runExperiment(run, heuristicId))
-				.collect(Collectors.toList());
+		// trials on the experiment scheduler defined in ExperimentalSettings.java
+		return runUsingExperimentScheduler(1, trial -> runExperiment(trial.trialId(), heuristicId));
 	}
 
 	/**
@@ -142,41 +137,41 @@ public class Exercise1Runner extends TestFrame {
 	 * @return
 	 */
 	public RunData runExperiment(int run, int heuristicId) {
-		long[] seeds = getExperimentalSeeds();
-		Random random = new Random(seeds[run]);
+		Random random = createRandom(run);
 		
-		TestFrameConfig oTestConfiguration = getTestConfiguration();
 		// initialise the problem instance
-		SAT sat = new SAT(oTestConfiguration.getInstanceId(),
-				oTestConfiguration.getRunTime(), random);
+		InstrumentedSAT sat = createProblem(random);
+		TerminationController termination = createTerminationController(sat);
 		// store the objective value for each iteration
-		ArrayList<Double> fitnessTrace = new ArrayList<Double>();
+		FitnessTrace fitnessTrace = FitnessTrace.fromSettings();
 
 		// get the heuristic object for the specified identifier
 		SATHeuristic heuristic = Exercise1TestFrameConfig.
 				getSATHeuristic(heuristicId, random);
 		
 		// record the objective value of the initial solution
-		fitnessTrace.add(sat.getObjectiveFunctionValue
+		fitnessTrace.record(sat.getTraceValue
 				(SATHeuristic.CURRENT_SOLUTION_INDEX));
 		
 		// continually apply the local search heuristic until the execution time expires
-		while (!sat.hasTimeExpired()) {
+		while (!termination.hasExpired()) {
 			// apply DBHC/SDHC to the solution-in-hand
 			heuristic.applyHeuristic(sat);
+			sat.getMetrics().recordIteration();
 			
 			// evaluate the cost of the solution-in-hand
-			double fitness = sat.getObjectiveFunctionValue
+			double fitness = sat.getTraceValue
 					(SATHeuristic.CURRENT_SOLUTION_INDEX);
 			
 			// add data to progress plot
-			if (!sat.hasTimeExpired()) {
-				fitnessTrace.add(fitness);
+			if (!termination.hasExpired()) {
+				fitnessTrace.record(fitness);
 			}
 		}
 
 		logResult(heuristic.getHeuristicName(), run,
 				sat.getBestSolutionValue(), sat.getBestSolutionAsString());
+		logMetrics(heuristic.getHeuristicName(), run, sat.getMetrics());
 
 		// record and return the experiment result
 		return new RunData(fitnessTrace, sat.getBestSolutionValue(),
@@ -1,12 +1,18 @@
 package com.aim.runners;
 
+import com.aim.ExperimentalSettings;
+import com.aim.FitnessTrace;
+import com.aim.InstrumentedSAT;
+import com.aim.PlotDownsampler;
 import com.aim.RunData;
+import com.aim.TerminationController;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
+import com.aim.TrialMetrics;
 import com.aim.heuristics.DavissBitHC;
 import com.aim.metaheuristics.singlepoint.iteratedlocalsearch.IteratedLocalSearch;
+import com.aim.metaheuristics.singlepoint.iteratedlocalsearch.ParallelIteratedLocalSearch;
 import com.aim.pseudorandom.RandomBitFlipHeuristic;
-import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.searchmethods.SearchMethod;
 import uk.ac.nott.cs.aim.statistics.PlotData;
@@ -14,11 +20,9 @@ import uk.ac.nott.cs.aim.statistics.XBoxPlot;
 import uk.ac.nott.cs.aim.statistics.XLineChart;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class Exercise2aRunner extends TestFrame {
 	private static final int HEURISTIC_TESTS = 1;
@@ -45,11 +49,9 @@ public class Exercise2aRunner extends TestFrame {
 	}
 
 	public void runTests() {
-		// execute the experiments
-		List<RunData> oRunData = runUsingExperimentalParallelism
-				(rangeAsStream(0, HEURISTIC_TESTS - 1))
-				.map(this::runExperimentsForHeuristicId).
-				flatMap(Collection::stream).toList();
+		// execute every trial of every heuristic as one flat queue of tasks
+		List<RunData> oRunData = runUsingExperimentScheduler(HEURISTIC_TESTS,
+				trial -> runExperiment(trial.heuristicId(), trial.trialId()));
 
 		// generate boxplots
 		List<PlotData> oPlotData = new ArrayList<PlotData>();
@@ -86,19 +88,20 @@ public class Exercise2aRunner extends TestFrame {
 					(f -> f.getHeuristicId() == id).findAny()
 					.get().getHeuristicName();
 
+			// the trials of the current heuristic share the iterations per plotted point
+			List<RunData> oHeuristicRunData = oRunData.stream().filter
+					(f -> f.getHeuristicId() == id).toList();
+			long stride = PlotDownsampler.stride(oHeuristicRunData);
+
 			// set up plot labels
 			String strTitle = "Comparison of the fitness traces of "
 					+ strHeuristicName;
-			String strXLabel = "Iteration";
+			String strXLabel = PlotDownsampler.axisLabel(stride);
 			String strYLabel = "Objective value";
 
 			// create a list of progress plots for the current heuristic
-			List<PlotData> oProgressPlotData = new ArrayList<>();
-			oRunData.stream().filter
-					(f -> f.getHeuristicId() == id).forEach(data -> {
-				oProgressPlotData.add(new PlotData(data.getData(),
-						String.format("Trial #%d", data.getTrialId())));
-			});
+			List<PlotData> oProgressPlotData = PlotDownsampler.toPlotData(oHeuristicRunData,
+					data -> String.format("Trial #%d", data.getTrialId()), stride);
 
 			// creates and shows the plot
 			XLineChart.getPlotCreator().createChart
@@ -108,39 +111,74 @@ public class Exercise2aRunner extends TestFrame {
 
 	public List<RunData> runExperimentsForHeuristicId(int heuristicId) {
 
-		long[] seeds = getExperimentalSeeds();
-		
-		Stream<RunData> dat = runUsingExperimentalParallelism(rangeAsStream
-				(0, getTestConfiguration().getTotalRuns() - 1)).map(run -> {
-
-			Random random = new Random(seeds[run]);
-			SAT sat = new SAT(getTestConfiguration().getInstanceId(),
-					getTestConfiguration().getRunTime(), random);
-			ArrayList<Double> fitnessTrace = new ArrayList<Double>();
-
-			SATHeuristic ls = new DavissBitHC(random);
-			SATHeuristic mtn = new RandomBitFlipHeuristic(random);
-			SearchMethod searchMethod = new IteratedLocalSearch
-					(sat, random, mtn, ls, intensityOfMutation, depthOfSearch);
-
-			fitnessTrace.add(sat.getObjectiveFunctionValue
-					(SATHeuristic.CURRENT_SOLUTION_INDEX));
-			while (!sat.hasTimeExpired()) {
-				searchMethod.run();
-				double fitness = sat.getObjectiveFunctionValue
-						(SATHeuristic.CURRENT_SOLUTION_INDEX);
-				fitnessTrace.add(fitness);
-			}
-
-			logResult(searchMethod.toString(), run,
-					sat.getBestSolutionValue(), sat.getBestSolutionAsString());
-
-			return new RunData(fitnessTrace, sat.getBestSolutionValue(),
-					searchMethod.toString(), heuristicId, run,
-					sat.getBestSolutionAsString());
-		});
+		return runUsingExperimentScheduler(1, trial -> runExperiment(heuristicId, trial.trialId()));
+	}
+
+	private RunData runExperiment(int heuristicId, int run) {
 
-		return dat.collect(Collectors.toList());
+		if (ExperimentalSettings.ILS_WALKERS > 0) {
+			return runParallelIteratedLocalSearch(heuristicId, run);
+		}
+
+		Random random = createRandom(run);
+		InstrumentedSAT sat = createProblem(random);
+		TerminationController termination = createTerminationController(sat);
+		FitnessTrace fitnessTrace = FitnessTrace.fromSettings();
+
+		SATHeuristic ls = new DavissBitHC(random);
+		SATHeuristic mtn = new RandomBitFlipHeuristic(random);
+		SearchMethod searchMethod = new IteratedLocalSearch
+				(sat, random, mtn, ls, intensityOfMutation, depthOfSearch);
+
+		fitnessTrace.record(sat.getTraceValue
+				(SATHeuristic.CURRENT_SOLUTION_INDEX));
+		while (!termination.hasExpired()) {
+			searchMethod.run();
+			sat.getMetrics().recordIteration();
+			double fitness = sat.getTraceValue
+					(SATHeuristic.CURRENT_SOLUTION_INDEX);
+			fitnessTrace.record(fitness);
+		}
+
+		logResult(searchMethod.toString(), run,
+				sat.getBestSolutionValue(), sat.getBestSolutionAsString());
+		logMetrics(searchMethod.toString(), run, sat.getMetrics());
+
+		return new RunData(fitnessTrace, sat.getBestSolutionValue(),
+				searchMethod.toString(), heuristicId, run,
+				sat.getBestSolutionAsString());
+	}
+
+	/**
+	 * Runs one trial as ExperimentalSettings.ILS_WALKERS concurrent iterated local searches,
+	 * each with its own problem and termination controller. The fitness trace follows the best
+	 * value found by any walker, one point per iteration of the first walker.
+	 */
+	private RunData runParallelIteratedLocalSearch(int heuristicId, int run) {
+
+		Random random = createRandom(run);
+		FitnessTrace fitnessTrace = FitnessTrace.fromSettings();
+		List<InstrumentedSAT> walkers = new ArrayList<>();
+		TrialMetrics metrics = new TrialMetrics();
+
+		ParallelIteratedLocalSearch pils = new ParallelIteratedLocalSearch(walkerRandom -> {
+					InstrumentedSAT walker = createProblem(walkerRandom);
+					walkers.add(walker);
+					return walker;
+				}, problem -> createTerminationController(problem)::hasExpired, fitnessTrace::record,
+				(problem, walkerRandom) -> new IteratedLocalSearch(problem, walkerRandom,
+						new RandomBitFlipHeuristic(walkerRandom), new DavissBitHC(walkerRandom),
+						intensityOfMutation, depthOfSearch),
+				random, ExperimentalSettings.ILS_WALKERS, ExperimentalSettings.ILS_STAGNATION_LIMIT);
+		pils.run();
+
+		walkers.forEach(walker -> metrics.add(walker.getMetrics()));
+
+		logResult(pils.toString(), run, pils.getBestSolutionValue(), pils.getBestSolutionAsString());
+		logMetrics(pils.toString(), run, metrics);
+
+		return new RunData(fitnessTrace, pils.getBestSolutionValue(),
+				pils.toString(), heuristicId, run, pils.getBestSolutionAsString());
 	}
 
 	public static void main(String[] args) {
@@ -1,11 +1,18 @@
 package com.aim.runners;
 
 import com.aim.PlotType;
+import com.aim.ExperimentalSettings;
+import com.aim.FitnessTrace;
+import com.aim.InstrumentedSAT;
+import com.aim.PlotDownsampler;
 import com.aim.RunData;
+import com.aim.TerminationController;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
+import com.aim.TrialMetrics;
+import com.aim.metaheuristics.singlepoint.simulatedannealing.ParallelTempering;
 import com.aim.metaheuristics.singlepoint.simulatedannealing.SimulatedAnnealing;
-import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
+import com.aim.random.RandomStreams;
 import uk.ac.nott.cs.aim.satheuristics.SATHeuristic;
 import uk.ac.nott.cs.aim.searchmethods.SearchMethod;
 import uk.ac.nott.cs.aim.statistics.PlotData;
@@ -16,7 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * 
@@ -34,7 +40,7 @@ public class Exercise2bRunner extends TestFrame {
 	
 	/**
 	 * Choose whether to plot the progress plots for ALL, BEST, WORST, or BEST_AND_WORST trials.
-	 * WARNING: Setting this to PlotType. ALL will take a while to render the progress plots!
+	 * Each trace is downsampled to ExperimentalSettings.PLOT_POINTS points, so ALL renders quickly too.
 	 */
 	private static final PlotType PLOT_TYPE = PlotType.BEST_AND_WORST;
 
@@ -88,9 +94,12 @@ public class Exercise2bRunner extends TestFrame {
 					filter(f -> f.getHeuristicId() == id).findAny().get()
 					.getHeuristicName();
 
+			// the plotted trials of the current heuristic share the iterations per plotted point
+			long stride = PlotDownsampler.stride(oRunData.stream().filter(f -> f.getHeuristicId() == id).toList());
+
 			// set up plot labels
 			String strTitle = "Comparison of the fitness traces of " + strHeuristicName;
-			String strXLabel = "Iteration";
+			String strXLabel = PlotDownsampler.axisLabel(stride);
 			String strYLabel = "Objective value";
 
 			// create a list of progress plots for the current heuristic
@@ -98,20 +107,19 @@ public class Exercise2bRunner extends TestFrame {
 			
 			switch(PLOT_TYPE) {
 			case ALL:
-				oRunData.stream().filter(f -> f.getHeuristicId() == id).forEach(o -> {
-					oProgressPlotData.add(new PlotData(o.getData(),
-							String.format("Trial #%d", o.getTrialId())));
-				});
+				oProgressPlotData.addAll(PlotDownsampler.toPlotData(
+						oRunData.stream().filter(f -> f.getHeuristicId() == id).toList(),
+						o -> String.format("Trial #%d", o.getTrialId()), stride));
 				break;
 			case BEST:
-				addBestTrace(oRunData, oProgressPlotData, id);
+				addBestTrace(oRunData, oProgressPlotData, id, stride);
 				break;
 			case WORST:
-				addWorstTrace(oRunData, oProgressPlotData, id);
+				addWorstTrace(oRunData, oProgressPlotData, id, stride);
 				break;
 			case BEST_AND_WORST:
-				addBestTrace(oRunData, oProgressPlotData, id);
-				addWorstTrace(oRunData, oProgressPlotData, id);
+				addBestTrace(oRunData, oProgressPlotData, id, stride);
+				addWorstTrace(oRunData, oProgressPlotData, id, stride);
 				break;
 			}
 
@@ -120,53 +128,93 @@ public class Exercise2bRunner extends TestFrame {
 		}
 	}
 	
-	private void addBestTrace(List<RunData> oRunData, List<PlotData> oProgressPlotData, int id) {
+	private void addBestTrace(List<RunData> oRunData, List<PlotData> oProgressPlotData, int id, long stride) {
 		double best = oRunData.stream().filter(f -> f.getHeuristicId() == id).
 				mapToDouble(RunData::getBestSolutionValue).min().getAsDouble();
 		RunData data = oRunData.stream().filter(f -> f.getHeuristicId() == id).
 				filter(f -> f.getBestSolutionValue() == best).findFirst().get();
-		oProgressPlotData.add(new PlotData(data.getData(),
+		oProgressPlotData.add(new PlotData(PlotDownsampler.downsample(data, stride),
 				String.format("Best Trial #%d", data.getTrialId())));
 	}
 	
-	private void addWorstTrace(List<RunData> oRunData, List<PlotData> oProgressPlotData, int id) {
+	private void addWorstTrace(List<RunData> oRunData, List<PlotData> oProgressPlotData, int id, long stride) {
 		double best = oRunData.stream().filter(f -> f.getHeuristicId() == id).
 				mapToDouble(RunData::getBestSolutionValue).max().getAsDouble();
 		RunData data = oRunData.stream().filter(f -> f.getHeuristicId() == id).
 				filter(f -> f.getBestSolutionValue() == best).findFirst().get();
-		oProgressPlotData.add(new PlotData(data.getData(),
+		oProgressPlotData.add(new PlotData(PlotDownsampler.downsample(data, stride),
 				String.format("Worst Trial #%d", data.getTrialId())));
 	}
 	
 	public List<RunData> runExperimentsForHeuristicId(int heuristicId) {
-		long[] seeds = getExperimentalSeeds();
+
+		return runUsingExperimentScheduler(1, trial -> runExperiment(heuristicId, trial.trialId()));
+	}
+
+	private RunData runExperiment(int heuristicId, int run) {
+		if (ExperimentalSettings.TEMPERING_REPLICAS > 0) {
+			return runParallelTempering(heuristicId, run);
+		}
+
+		Random random = createRandom(run);
+		InstrumentedSAT sat = createProblem(random);
+		TerminationController termination = createTerminationController(sat);
+		FitnessTrace fitnessTrace = FitnessTrace.fromSettings();
 		
-		Stream<RunData> dat = runUsingExperimentalParallelism(rangeAsStream
-				(0, getTestConfiguration().getTotalRuns() - 1)).map( run -> {
-			Random random = new Random(seeds[run]);
-			SAT sat = new SAT(getTestConfiguration().getInstanceId(),
-					getTestConfiguration().getRunTime(), random);
-			ArrayList<Double> fitnessTrace = new ArrayList<Double>();
-			
-			double initialSolutionFitness = sat.getObjectiveFunctionValue(0);
-			SearchMethod searchMethod = new SimulatedAnnealing(
-					((Exercise2bTestFrameConfig)getTestConfiguration())
-					.getCoolingSchedule(initialSolutionFitness), sat, random);
-			
-			double fitness = sat.getObjectiveFunctionValue(SATHeuristic.CURRENT_SOLUTION_INDEX);
-			fitnessTrace.add(fitness);
-			while(!sat.hasTimeExpired()) {
-				fitnessTrace.add(searchMethod.run());
-			}
-			
-			logResult(searchMethod.toString(), run,
-					sat.getBestSolutionValue(), sat.getBestSolutionAsString());
-			
-			return new RunData(fitnessTrace, sat.getBestSolutionValue(),
-					searchMethod.toString(), heuristicId, run, sat.getBestSolutionAsString());
-		});
+		double initialSolutionFitness = sat.getObjectiveFunctionValue(0);
+		SearchMethod searchMethod = new SimulatedAnnealing(
+				((Exercise2bTestFrameConfig)getTestConfiguration())
+				.getCoolingSchedule(initialSolutionFitness), sat, random);
 		
-		return dat.collect(Collectors.toList());
+		double fitness = sat.getTraceValue(SATHeuristic.CURRENT_SOLUTION_INDEX);
+		fitnessTrace.record(fitness);
+		while(!termination.hasExpired()) {
+			fitnessTrace.record(searchMethod.run());
+			sat.getMetrics().recordIteration();
+		}
+		
+		logResult(searchMethod.toString(), run,
+				sat.getBestSolutionValue(), sat.getBestSolutionAsString());
+		logMetrics(searchMethod.toString(), run, sat.getMetrics());
+		
+		return new RunData(fitnessTrace, sat.getBestSolutionValue(),
+				searchMethod.toString(), heuristicId, run, sat.getBestSolutionAsString());
+	}
+
+	/**
+	 * Runs one trial as parallel tempering of ExperimentalSettings.TEMPERING_REPLICAS simulated
+	 * annealing replicas, each with its own problem and termination controller. The fitness
+	 * trace follows the replica at the coldest temperature, one point per exchange.
+	 */
+	private RunData runParallelTempering(int heuristicId, int run) {
+
+		Random random = createRandom(run);
+		FitnessTrace fitnessTrace = FitnessTrace.fromSettings();
+		List<InstrumentedSAT> replicas = new ArrayList<>();
+		TrialMetrics metrics = new TrialMetrics();
+
+		// the hottest replica starts at the temperature the cooling schedules start at
+		double initialSolutionFitness = createProblem(RandomStreams.split(random))
+				.getObjectiveFunctionValue(SATHeuristic.CURRENT_SOLUTION_INDEX);
+		double[] ladder = ParallelTempering.geometricLadder(ExperimentalSettings.TEMPERING_MIN_TEMPERATURE,
+				Math.max(initialSolutionFitness, ExperimentalSettings.TEMPERING_MIN_TEMPERATURE),
+				ExperimentalSettings.TEMPERING_REPLICAS);
+
+		ParallelTempering pt = new ParallelTempering(replicaRandom -> {
+					InstrumentedSAT replica = createProblem(replicaRandom);
+					replicas.add(replica);
+					return replica;
+				}, problem -> createTerminationController(problem)::hasExpired, fitnessTrace::record,
+				random, ladder, ExperimentalSettings.TEMPERING_SWEEP_LENGTH);
+		pt.run();
+
+		replicas.forEach(replica -> metrics.add(replica.getMetrics()));
+
+		logResult(pt.toString(), run, pt.getBestSolutionValue(), pt.getBestSolutionAsString());
+		logMetrics(pt.toString(), run, metrics);
+
+		return new RunData(fitnessTrace, pt.getBestSolutionValue(),
+				pt.toString(), heuristicId, run, pt.getBestSolutionAsString());
 	}
 	
 	public static void main(String [] args) {
@@ -1,9 +1,15 @@
 package com.aim.runners;
 
+import com.aim.FitnessTrace;
+import com.aim.InstrumentedSAT;
+import com.aim.PlotDownsampler;
 import com.aim.RunData;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
+import com.aim.TrialMetrics;
+import com.aim.metaheuristics.population.ParallelLocalSearch;
 import com.aim.metaheuristics.population.ParentSelection;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import com.aim.metaheuristics.population.heuristics.BitMutation;
 import com.aim.metaheuristics.population.heuristics.DBHC_OI;
 import com.aim.metaheuristics.population.heuristics.NoopHeuristic;
@@ -12,7 +18,6 @@ import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.CrossoverHeuristic;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationReplacement;
-import uk.ac.nott.cs.aim.searchmethods.SearchMethod;
 import uk.ac.nott.cs.aim.statistics.PlotData;
 import uk.ac.nott.cs.aim.statistics.XBoxPlot;
 import uk.ac.nott.cs.aim.statistics.XLineChart;
@@ -20,7 +25,6 @@ import uk.ac.nott.cs.aim.statistics.XLineChart;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class Exercise3aRunner extends TestFrame {
 
@@ -35,30 +39,89 @@ public class Exercise3aRunner extends TestFrame {
 
 	public List<List<RunData>> runExperimentsForHeuristicId(int heuristicId) {
 
-		Stream<List<RunData>> dat = runUsingExperimentalParallelism(
-				rangeAsStream(0, getTestConfiguration().getTotalRuns() - 1)).map(trial -> {
-
-					return this.runExperiment(heuristicId, trial);
-				});
-
-		return dat.collect(Collectors.toList());
+		return runUsingExperimentScheduler(1, trial -> runExperiment(heuristicId, trial.trialId()));
 	}
 
 	public List<RunData> runExperiment(int heuristicId, int trialId) {
 
 		Exercise3aTestFrameConfig config = (Exercise3aTestFrameConfig) getTestConfiguration();
-		long[] seeds = getExperimentalSeeds();
+		if (config.ISLANDS > 1) {
+			return runIslandExperiment(heuristicId, trialId);
+		}
 
 		long start_time = System.currentTimeMillis();
 		// generation based termination
 		int POP_SIZE = config.getPopulationSize();
-		Random random = new Random(seeds[trialId]);
-		SAT sat = new SAT(config.getInstanceId(), Integer.MAX_VALUE, random, POP_SIZE);
-		LinkedList<ArrayList<Double>> fitnessTrace = new LinkedList<ArrayList<Double>>();
+		Random random = createRandom(trialId);
+		InstrumentedSAT sat = createProblem(random, Integer.MAX_VALUE, POP_SIZE);
+		FitnessTrace[] fitnessTrace = new FitnessTrace[POP_SIZE];
 		for (int i = 0; i < POP_SIZE; i++) {
-			fitnessTrace.add(new ArrayList<Double>());
+			fitnessTrace[i] = FitnessTrace.fromSettings();
+		}
+
+		MemeticAlgorithm heuristic = createMemeticAlgorithm(sat, random, config);
+
+		// closed on every path so that an exception cannot leak the worker pool
+		try (ParallelLocalSearch parallelLocalSearch = config.LOCAL_SEARCH_THREADS > 1
+				? new ParallelLocalSearch(config.LOCAL_SEARCH_THREADS) : null) {
+			if (parallelLocalSearch != null) {
+				heuristic.setParallelLocalSearch(parallelLocalSearch);
+			}
+
+			int count = 0;
+		
+			// add all of population
+			Double[] populationFitnesses = IntStream.range(0, POP_SIZE).boxed()
+					.map(sat::getTraceValue)
+					.sorted().toArray(Double[]::new);
+
+			for (int i = 0; i < populationFitnesses.length; i++) {
+				fitnessTrace[i].record(populationFitnesses[i]);
+			}
+					
+			while (!sat.hasTimeExpired() && count <= config.MODE.getGenerations()) {
+				heuristic.run();
+				sat.getMetrics().recordIteration();
+
+				// add all of population
+				populationFitnesses = IntStream.range(0, POP_SIZE).boxed()
+						.map(sat::getTraceValue)
+						.sorted().toArray(Double[]::new);
+
+				for (int i = 0; i < populationFitnesses.length; i++) {
+					fitnessTrace[i].record(populationFitnesses[i]);
+				}
+
+				count++;
+			}
+		}
+
+		System.out.println("Time: " + ((System.currentTimeMillis() - start_time) / 1e3));
+		System.out.println("Heuristic: " + heuristic.toString());
+		System.out.println("Run ID: " + trialId);
+		System.out.println("Best Solution Value: " + sat.getBestSolutionValue());
+		System.out.println("Best Solution: " + sat.getBestSolutionAsString());
+		System.out.println();
+		logMetrics(heuristic.toString(), trialId, sat.getMetrics());
+
+		List<RunData> populationRunData = new ArrayList<>();
+		for (int i = 0; i < fitnessTrace.length; i++) {
+
+			String strSeriesName = String.format("%s - Parent #%d", config.MODE.toString(), i);
+			populationRunData.add(new RunData(fitnessTrace[i], sat.getBestSolutionValue(),
+					strSeriesName, heuristicId, trialId, sat.getBestSolutionAsString()));
 		}
 
+		return populationRunData;
+	}
+
+	/**
+	 * Creates the Memetic Algorithm and operators configured in the {@link Exercise3aTestFrameConfig}.
+	 */
+	private MemeticAlgorithm createMemeticAlgorithm(SAT sat, Random random, Exercise3aTestFrameConfig config) {
+
+		int POP_SIZE = config.getPopulationSize();
+
 		CrossoverHeuristic crossover = new UniformXO(sat, random);
 		PopulationHeuristic mutation = new BitMutation(sat, random);
 		PopulationHeuristic localSearch = null;
@@ -76,87 +139,96 @@ public class Exercise3aRunner extends TestFrame {
 
 		}
 
+		// one fitness snapshot shared by selection and replacement
+		PopulationFitnessCache fitness = new PopulationFitnessCache(sat, POP_SIZE);
+
 		PopulationReplacement replacement = null;
 		switch (config.REPLACEMENT) {
             case BASIC -> {
 				replacement = new BasicReplacement();
             }
             case TRANS_GENERATIONAL -> {
-				replacement = new TransGenerationalReplacementWithElitistReplacement();
+				replacement = new TransGenerationalReplacementWithElitistReplacement(fitness);
             }
         }
 
 		ParentSelection p1Selection = null, p2Selection = null;
 		switch(config.P1_SELECTION) {
             case TOURNAMENT -> {
-				p1Selection = new TournamentSelection(sat, random, POP_SIZE, config.TOURNAMENT_SIZE);
+				p1Selection = new TournamentSelection(sat, random, POP_SIZE, config.TOURNAMENT_SIZE, fitness);
             }
             case RANDOM -> {
-				p1Selection = new RandomSelection(sat, random, POP_SIZE);
+				p1Selection = new RandomSelection(sat, random, POP_SIZE, fitness);
             }
             case FITTEST -> {
-				p1Selection = new FittestSelection(sat, random, POP_SIZE);
+				p1Selection = new FittestSelection(sat, random, POP_SIZE, fitness);
             }
         }
 
 		switch(config.P2_SELECTION) {
 			case TOURNAMENT -> {
-				p2Selection = new TournamentSelection(sat, random, POP_SIZE, config.TOURNAMENT_SIZE);
+				p2Selection = new TournamentSelection(sat, random, POP_SIZE, config.TOURNAMENT_SIZE, fitness);
 			}
 			case RANDOM -> {
-				p2Selection = new RandomSelection(sat, random, POP_SIZE);
+				p2Selection = new RandomSelection(sat, random, POP_SIZE, fitness);
 			}
 			case FITTEST -> {
-				p2Selection = new FittestSelection(sat, random, POP_SIZE);
+				p2Selection = new FittestSelection(sat, random, POP_SIZE, fitness);
 			}
 		}
 
 
-		SearchMethod heuristic = new MemeticAlgorithm(sat, random, POP_SIZE, crossover, mutation,
+		return new MemeticAlgorithm(sat, random, POP_SIZE, crossover, mutation,
 				localSearch, p1Selection, p2Selection, replacement);
+	}
 
-		int count = 0;
-		
-		// add all of population
-		Double[] populationFitnesses = IntStream.range(0, POP_SIZE).boxed()
-				.map(sat::getObjectiveFunctionValue)
-				.sorted().toArray(Double[]::new);
+	/**
+	 * Runs one trial as an island model of config.ISLANDS populations, each created as by
+	 * {@link #createMemeticAlgorithm(SAT, Random, Exercise3aTestFrameConfig)} and run for as many
+	 * generations as a single population. Each island has one trace, of the best value it has found.
+	 */
+	private List<RunData> runIslandExperiment(int heuristicId, int trialId) {
 
-		for (int i = 0; i < populationFitnesses.length; i++) {
-			fitnessTrace.get(i).add(populationFitnesses[i]);
-		}
-					
-		while (!sat.hasTimeExpired() && count <= config.MODE.getGenerations()) {
-			heuristic.run();
+		Exercise3aTestFrameConfig config = (Exercise3aTestFrameConfig) getTestConfiguration();
 
-			// add all of population
-			populationFitnesses = IntStream.range(0, POP_SIZE).boxed()
-					.map(sat::getObjectiveFunctionValue)
-					.sorted().toArray(Double[]::new);
+		long start_time = System.currentTimeMillis();
+		int POP_SIZE = config.getPopulationSize();
+		Random random = createRandom(trialId);
+		List<InstrumentedSAT> problems = new ArrayList<>();
+		TrialMetrics metrics = new TrialMetrics();
+		FitnessTrace[] fitnessTrace = new FitnessTrace[config.ISLANDS];
+		for (int i = 0; i < config.ISLANDS; i++) {
+			fitnessTrace[i] = FitnessTrace.fromSettings();
+		}
 
-			for (int i = 0; i < populationFitnesses.length; i++) {
-				fitnessTrace.get(i).add(populationFitnesses[i]);
-			}
+		IslandModelMemeticAlgorithm heuristic = new IslandModelMemeticAlgorithm(islandRandom -> {
+					InstrumentedSAT sat = createProblem(islandRandom, Integer.MAX_VALUE, POP_SIZE);
+					problems.add(sat);
+					return sat;
+				}, (sat, islandRandom) -> createMemeticAlgorithm(sat, islandRandom, config),
+				(island, value) -> fitnessTrace[island].record(value),
+				random, config.ISLANDS, POP_SIZE, config.MIGRATION_INTERVAL, config.MIGRATION_SIZE);
+		heuristic.run(config.MODE.getGenerations() + 1);
 
-			count++;
-		}
+		problems.forEach(sat -> metrics.add(sat.getMetrics()));
 
 		System.out.println("Time: " + ((System.currentTimeMillis() - start_time) / 1e3));
 		System.out.println("Heuristic: " + heuristic.toString());
 		System.out.println("Run ID: " + trialId);
-		System.out.println("Best Solution Value: " + sat.getBestSolutionValue());
-		System.out.println("Best Solution: " + sat.getBestSolutionAsString());
+		System.out.println("Best Solution Value: " + heuristic.getBestSolutionValue());
+		System.out.println("Best Solution: " + heuristic.getBestSolutionAsString());
 		System.out.println();
+		logMetrics(heuristic.toString(), trialId, metrics);
 
-		List<RunData> populationRunData = new ArrayList<>();
-		for (int i = 0; i < fitnessTrace.size(); i++) {
+		List<RunData> islandRunData = new ArrayList<>();
+		for (int i = 0; i < fitnessTrace.length; i++) {
 
-			String strSeriesName = String.format("%s - Parent #%d", config.MODE.toString(), i);
-			populationRunData.add(new RunData(fitnessTrace.get(i), sat.getBestSolutionValue(),
-					strSeriesName, heuristicId, trialId, sat.getBestSolutionAsString()));
+			String strSeriesName = String.format("%s - Island #%d", config.MODE.toString(), i);
+			islandRunData.add(new RunData(fitnessTrace[i], heuristic.getBestSolutionValue(),
+					strSeriesName, heuristicId, trialId, heuristic.getBestSolutionAsString()));
 		}
 
-		return populationRunData;
+		return islandRunData;
 	}
 
 	public void runTests() {
@@ -206,7 +278,6 @@ public class Exercise3aRunner extends TestFrame {
 			// set up plot labels
 			String strTitle = "Fitness traces of the best trial of the " +
 					getTestConfiguration().getConfigurationAsString();
-			String strXLabel = "Iteration";
 			String strYLabel = "Objective value";
 
 			// create a list of progress plots for the current heuristic
@@ -224,10 +295,13 @@ public class Exercise3aRunner extends TestFrame {
 				.findAny()
 				.get();
 			
-			bestTrialRunData.stream().filter(f -> f.getHeuristicId() == id).forEach(o -> {
-				oProgressPlotData.add(new PlotData(o.getData(),
-						String.format("Trial #%d - %s", o.getTrialId(), o.getHeuristicName())));
-			});
+			// the series of the trial share the iterations per plotted point
+			List<RunData> oTrialRunData = bestTrialRunData.stream().filter(f -> f.getHeuristicId() == id).toList();
+			long stride = PlotDownsampler.stride(oTrialRunData);
+			String strXLabel = PlotDownsampler.axisLabel(stride);
+
+			oProgressPlotData.addAll(PlotDownsampler.toPlotData(oTrialRunData,
+					o -> String.format("Trial #%d - %s", o.getTrialId(), o.getHeuristicName()), stride));
 
 			// creates and shows the plot
 			XLineChart.getPlotCreator().createChart
@@ -244,7 +318,6 @@ public class Exercise3aRunner extends TestFrame {
 			// set up plot labels
 			String strTitle = "Fitness traces of the worst trial of the " +
 					getTestConfiguration().getConfigurationAsString();
-			String strXLabel = "Iteration";
 			String strYLabel = "Objective value";
 
 			// create a list of progress plots for the current heuristic
@@ -267,10 +340,13 @@ public class Exercise3aRunner extends TestFrame {
 						.getAsDouble() == worstBestSolution)
 				.findAny().get();
 			
-			bestTrialRunData.stream().filter(f -> f.getHeuristicId() == id).forEach(o -> {
-				oProgressPlotData.add(new PlotData(o.getData(),
-						String.format("Trial #%d - %s", o.getTrialId(), o.getHeuristicName())));
-			});
+			// the series of the trial share the iterations per plotted point
+			List<RunData> oTrialRunData = bestTrialRunData.stream().filter(f -> f.getHeuristicId() == id).toList();
+			long stride = PlotDownsampler.stride(oTrialRunData);
+			String strXLabel = PlotDownsampler.axisLabel(stride);
+
+			oProgressPlotData.addAll(PlotDownsampler.toPlotData(oTrialRunData,
+					o -> String.format("Trial #%d - %s", o.getTrialId(), o.getHeuristicName()), stride));
 
 			// creates and shows the plot
 			XLineChart.getPlotCreator().createChart
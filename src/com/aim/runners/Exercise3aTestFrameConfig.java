@@ -56,6 +56,28 @@ public class Exercise3aTestFrameConfig extends TestFrameConfig {
 
 	public final int TOURNAMENT_SIZE = 2;
 
+	/*
+	 * number of threads applying local search to the offspring of a generation,
+	 * 1 = apply local search to each pair of offspring as soon as they are created
+	 */
+	public final int LOCAL_SEARCH_THREADS = 1;
+
+	/*
+	 * number of islands, each with a population of POP_SIZE, run concurrently in one trial
+	 * and exchanging their fittest parents, 1 = a single population
+	 */
+	public final int ISLANDS = 1;
+
+	/*
+	 * generations between migrations when ISLANDS > 1
+	 */
+	public final int MIGRATION_INTERVAL = 10;
+
+	/*
+	 * parents each island sends to the next per migration, permitted values = 1 .. POP_SIZE - 1
+	 */
+	public final int MIGRATION_SIZE = 2;
+
 	private static final long m_parentSeed = 01032024L;
 
 	private static Exercise3aTestFrameConfig oThis;
@@ -1,22 +1,20 @@
 package com.aim.runners;
 
+import com.aim.FitnessTrace;
+import com.aim.InstrumentedSAT;
 import com.aim.TestFrame;
 import com.aim.TestFrameConfig;
+import com.aim.metaheuristics.population.ParallelLocalSearch;
+import com.aim.metaheuristics.population.PopulationFitnessCache;
 import com.aim.metaheuristics.population.heuristics.*;
 import com.aim.metaheuristics.population.memetic.*;
 import com.aim.metaheuristics.population.multimeme.MultiMeme;
 import com.aim.metaheuristics.population.multimeme.SimpleInheritanceMethod;
-import uk.ac.nott.cs.aim.domains.chesc2014_SAT.SAT;
 import uk.ac.nott.cs.aim.satheuristics.genetics.PopulationHeuristic;
 import uk.ac.nott.cs.aim.statistics.PlotData;
 import uk.ac.nott.cs.aim.statistics.XBoxPlot;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.IntStream;
 
 public class Exercise3bRunner extends TestFrame {
 
@@ -31,20 +29,20 @@ public class Exercise3bRunner extends TestFrame {
 		
 		Exercise3bTestFrameConfig config = (Exercise3bTestFrameConfig)getTestConfiguration();
 		double[] data = new double[config.getTotalRuns()];
-		long[] SEEDS = getExperimentalSeeds();
 
 		ArrayList<Double> runScores = new ArrayList<Double>();
 
 		final double[] bestFoundCost = {Double.MAX_VALUE};
 		final String[] bestFoundRepresentation = {null};
 
-		List<Double> costs = IntStream.range(0, config.getTotalRuns()).parallel()
-				.boxed().map(trial -> {
+		List<Double> costs = runUsingExperimentScheduler(1, t -> {
+
+			int trial = t.trialId();
 
 			//generation based termination
-			Random random = new Random(SEEDS[trial]);
+			Random random = createRandom(trial);
 
-			SAT sat = new SAT(config.getInstanceId(), config.getRunTime(), random,
+			InstrumentedSAT sat = createProblem(random, config.getRunTime(),
 					config.getPopulationSize(), config.getMemeCount(), config.getOptionsPerMeme());
 
 			ArrayList<ArrayList<Long>> memeUsage = new ArrayList<ArrayList<Long>>();
@@ -58,11 +56,14 @@ public class Exercise3bRunner extends TestFrame {
 				}
 			}
 
-			LinkedList<ArrayList<Double>> fitnessTrace = new LinkedList<ArrayList<Double>>();
+			FitnessTrace[] fitnessTrace = new FitnessTrace[config.getPopulationSize()];
 			for(int i = 0; i < config.getPopulationSize(); i++) {
-				fitnessTrace.add(new ArrayList<Double>());
+				fitnessTrace[i] = FitnessTrace.fromSettings();
 			}
 
+			// one fitness snapshot shared by selection and replacement
+			PopulationFitnessCache fitness = new PopulationFitnessCache(sat, config.getPopulationSize());
+
 			// create a MultiMeme dependent upon default configurations
 			MultiMeme mma = null;
 			if(config.OPERATOR_MODE == Exercise3bTestFrameConfig.OperatorMode.BASIC) {
@@ -73,10 +74,10 @@ public class Exercise3bRunner extends TestFrame {
 						config.INNOVATION_RATE,
 						config.getOptionsPerMeme(),
 						new PTX1(sat, random), // crossover
-						new BitMutation(sat, random), // mutation
+						new BitMutation(sat, random, BitMutation.Sampling.GEOMETRIC_SKIP), // mutation
 						new BasicReplacement(), // replacement
-						new RandomSelection(sat, random, config.POP_SIZE), // parent selection
-						new FittestSelection(sat, random, config.POP_SIZE), // parent selection
+						new RandomSelection(sat, random, config.POP_SIZE, fitness), // parent selection
+						new FittestSelection(sat, random, config.POP_SIZE, fitness), // parent selection
 						new SimpleInheritanceMethod(sat, random), // memeplex inheritance
 						// create mapping for local search operators used for meme in meme index 1
 						new PopulationHeuristic[] {
@@ -94,12 +95,12 @@ public class Exercise3bRunner extends TestFrame {
 						config.INNOVATION_RATE,
 						config.getOptionsPerMeme(),
 						new PTX1(sat, random), // crossover
-						new BitMutation(sat, random), // mutation
-						new TransGenerationalReplacementWithElitistReplacement(), // replacement
+						new BitMutation(sat, random, BitMutation.Sampling.GEOMETRIC_SKIP), // mutation
+						new TransGenerationalReplacementWithElitistReplacement(fitness), // replacement
 						new TournamentSelection(sat, random, config.getPopulationSize(),
-								config.TOURNAMENT_SIZE), // parent selection
+								config.TOURNAMENT_SIZE, fitness), // parent selection
 						new TournamentSelection(sat, random, config.getPopulationSize(),
-								config.TOURNAMENT_SIZE), // parent selection
+								config.TOURNAMENT_SIZE, fitness), // parent selection
 						new SimpleInheritanceMethod(sat, random), // memeplex inheritance
 
 						// create mapping for local search operators used for meme in meme index 1
@@ -124,38 +125,46 @@ public class Exercise3bRunner extends TestFrame {
 
 
 
-			int count = 0;
-			while(!sat.hasTimeExpired() && count <= config.MAX_GENERATIONS) {
+			// closed on every path so that an exception cannot leak the worker pool
+			try (ParallelLocalSearch parallelLocalSearch = config.LOCAL_SEARCH_THREADS > 1
+					? new ParallelLocalSearch(config.LOCAL_SEARCH_THREADS) : null) {
+				if(parallelLocalSearch != null) {
+					mma.setParallelLocalSearch(parallelLocalSearch);
+				}
 
-//				sat.copySolution(0, 1);
-//				sat.copySolution(1, 0);
+				int count = 0;
+				while(!sat.hasTimeExpired() && count <= config.MAX_GENERATIONS) {
 
-				mma.run();
+//					sat.copySolution(0, 1);
+//					sat.copySolution(1, 0);
 
-				//add all of population
-				PriorityQueue<Double> pq = new PriorityQueue<>();
-				for(int i = 0; i < config.getPopulationSize(); i++) {
-					pq.add(sat.getObjectiveFunctionValue(i));
-				}
+					mma.run();
+					sat.getMetrics().recordIteration();
 
-				for(int i = 0; i < config.getPopulationSize(); i++) {
-					fitnessTrace.get(i).add(pq.remove());
-				}
+					//add all of population
+					PriorityQueue<Double> pq = new PriorityQueue<>();
+					for(int i = 0; i < config.getPopulationSize(); i++) {
+						pq.add(sat.getTraceValue(i));
+					}
 
-				for(int i = 0; i < config.getMemeCount(); i++) {
-					for(int j = 0; j < config.getPopulationSize(); j++) {
-						int allele = sat.getMeme(j, i).getMemeOption();
-						long c = memeUsage.get(i).get(allele);
-						memeUsage.get(i).set(allele, c + 1);
+					for(int i = 0; i < config.getPopulationSize(); i++) {
+						fitnessTrace[i].record(pq.remove());
 					}
-				}
 
-				count++;
+					for(int i = 0; i < config.getMemeCount(); i++) {
+						for(int j = 0; j < config.getPopulationSize(); j++) {
+							int allele = sat.getMeme(j, i).getMemeOption();
+							long c = memeUsage.get(i).get(allele);
+							memeUsage.get(i).set(allele, c + 1);
+						}
+					}
+
+					count++;
+				}
 			}
 
 			double currentBestSolution = sat.getBestSolutionValue();
 			data[trial] = currentBestSolution;
-			runScores.add(currentBestSolution);
 
 			System.out.println("Heuristic: " + mma.toString());
 			System.out.println("Run ID: " + trial);
@@ -170,6 +179,7 @@ public class Exercise3bRunner extends TestFrame {
 			}
 
 			System.out.println();
+			logMetrics(mma.toString(), trial, sat.getMetrics());
 
 			synchronized (best_lock) {
 				// ugly java lambda hack, never copy this...
@@ -182,6 +192,7 @@ public class Exercise3bRunner extends TestFrame {
 
 			synchronized (output_lock) {
 
+				runScores.add(currentBestSolution);
 
 				//print or save results
 				StringBuilder sb = new StringBuilder();
@@ -200,7 +211,9 @@ public class Exercise3bRunner extends TestFrame {
 
 			return sat.getBestSolutionValue();
 
-		}).toList();
+		});
+
+		closeResults();
 
 		List<PlotData> oPlotData = new ArrayList<>();
 		oPlotData.add(new PlotData(costs, "MMA"));
@@ -214,49 +227,19 @@ public class Exercise3bRunner extends TestFrame {
 	
 	private void saveData(String filePath, String data) {
 		
-		Path path = Paths.get("./" + filePath);
-		if(!Files.exists(path)) {
-			try {
-				Files.createFile(path);
-				TestFrameConfig CFG = getTestConfiguration();
-				
-				//add header
-				StringBuilder header = new StringBuilder
-						("Heuristic,Innovation Rate,Run Time,Instance ID");
-				for(int i = 0; i < CFG.getTotalRuns(); i++) {
-					
-					header.append(",").append(i);
-				}
-				
-				header.append(",Best Solution As String");
-				
-				Files.write(path, (header + "\r\n" + data).getBytes());
-				
-			} catch (IOException e) {
-				System.err.println("Could not create file at " + path.toAbsolutePath());
-				System.err.println("Printing data to screen instead...");
-				System.out.println(data);
-			}
-			
-		} else {
-			
-			try {
-				byte[] currentData = Files.readAllBytes(path);
-				data = "\r\n" + data;
-				byte[] newData = data.getBytes();
-				byte[] writeData = new byte[currentData.length + newData.length];
-				System.arraycopy(currentData, 0, writeData, 0, currentData.length);
-				System.arraycopy(newData, 0, writeData, currentData.length, newData.length);
-				Files.write(path, writeData);
-				
-			} catch (IOException e) {
-				System.err.println("Could not create file at " + path.toAbsolutePath());
-				System.err.println("Printing data to screen instead...");
-				System.out.println(data);
-			}
+		TestFrameConfig CFG = getTestConfiguration();
+		
+		//add header
+		StringBuilder header = new StringBuilder
+				("Heuristic,Innovation Rate,Run Time,Instance ID");
+		for(int i = 0; i < CFG.getTotalRuns(); i++) {
 			
+			header.append(",").append(i);
 		}
 		
+		header.append(",Best Solution As String");
+		
+		appendResult(filePath, header.toString(), data);
 	}
 	
 	public static void main(String [] args) {
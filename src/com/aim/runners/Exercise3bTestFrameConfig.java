@@ -56,6 +56,12 @@ public class Exercise3bTestFrameConfig extends TestFrameConfig {
 	 */
 	protected final double INNOVATION_RATE = 0.6;
 
+	/*
+	 * number of threads applying local search to the offspring of a generation,
+	 * 1 = apply local search to each pair of offspring as soon as they are created
+	 */
+	protected final int LOCAL_SEARCH_THREADS = 1;
+
 	/**
 	 * The experimental seed, set as the first date of the in-person lab.
 	 */